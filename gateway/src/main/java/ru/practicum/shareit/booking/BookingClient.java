@@ -7,8 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -33,6 +35,11 @@ public class BookingClient extends BaseClient {
         return patch(API_PREFIX + "/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> updateStatuses(Long userId, List<BookingDecisionDto> decisions) {
+        log.debug("Sending PATCH request with {} booking decisions for user ID: {}", decisions.size(), userId);
+        return patch(API_PREFIX + "/batch", userId, decisions);
+    }
+
     public ResponseEntity<Object> getById(Long userId, Long bookingId) {
         log.debug("Sending GET request for booking ID: {} for user ID: {}", bookingId, userId);
         return get(API_PREFIX + "/" + bookingId, userId);
@@ -48,6 +55,16 @@ public class BookingClient extends BaseClient {
         return get(API_PREFIX + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getAllByBookerAfter(Long userId, String state, String after, Integer size) {
+        log.debug("Sending GET request for bookings of booker ID: {} with state: {} after cursor", userId, state);
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get(API_PREFIX + "?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getAllByOwner(Long userId, String state, Integer from, Integer size) {
         log.debug("Sending GET request for bookings of owner ID: {} with state: {}", userId, state);
         Map<String, Object> parameters = Map.of(
@@ -57,4 +74,14 @@ public class BookingClient extends BaseClient {
         );
         return get(API_PREFIX + "/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<Object> getAllByOwnerAfter(Long userId, String state, String after, Integer size) {
+        log.debug("Sending GET request for bookings of owner ID: {} with state: {} after cursor", userId, state);
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get(API_PREFIX + "/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
 }
\ No newline at end of file
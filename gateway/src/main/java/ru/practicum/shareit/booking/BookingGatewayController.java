@@ -5,13 +5,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingGatewayController {
+    private static final int MAX_DECISIONS = 100;
+
     private final BookingClient bookingClient;
 
     @PostMapping
@@ -22,6 +27,15 @@ public class BookingGatewayController {
         return bookingClient.create(userId, bookingRequestDto);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateStatuses(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("Gateway: Applying {} booking decisions for user ID: {}", decisions.size(), userId);
+        validateDecisions(decisions);
+        return bookingClient.updateStatuses(userId, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateStatus(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -44,12 +58,16 @@ public class BookingGatewayController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Gateway: Getting bookings for booker ID: {} with state: {}", userId, state);
 
         validatePagination(from, size);
         validateState(state);
 
+        if (after != null) {
+            return bookingClient.getAllByBookerAfter(userId, state, after, size);
+        }
         return bookingClient.getAllByBooker(userId, state, from, size);
     }
 
@@ -58,15 +76,30 @@ public class BookingGatewayController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Gateway: Getting bookings for owner ID: {} with state: {}", userId, state);
 
         validatePagination(from, size);
         validateState(state);
 
+        if (after != null) {
+            return bookingClient.getAllByOwnerAfter(userId, state, after, size);
+        }
         return bookingClient.getAllByOwner(userId, state, from, size);
     }
 
+    private void validateDecisions(List<BookingDecisionDto> decisions) {
+        if (decisions.isEmpty() || decisions.size() > MAX_DECISIONS) {
+            throw new IllegalArgumentException("Batch must contain from 1 to " + MAX_DECISIONS + " decisions");
+        }
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new IllegalArgumentException("Each decision needs a booking ID and an approved flag");
+            }
+        }
+    }
+
     private void validatePagination(Integer from, Integer size) {
         if (from < 0) {
             throw new IllegalArgumentException("From parameter cannot be negative");
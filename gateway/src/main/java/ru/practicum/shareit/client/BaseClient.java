@@ -1,9 +1,15 @@
 package ru.practicum.shareit.client;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.*;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +58,52 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, null, body);
     }
 
+    /**
+     * Copies the server's GET response into the target as it arrives instead of buffering the body,
+     * for endpoints whose responses are too large to hold in memory. Error responses are passed through too.
+     */
+    protected void stream(String path, Long userId, HttpServletResponse target) throws IOException {
+        stream(path, userId, List.of(MediaType.APPLICATION_JSON), target);
+    }
+
+    /**
+     * Same as {@link #stream(String, Long, HttpServletResponse)} for other media types. Every chunk is
+     * flushed as soon as it is read, so long-lived responses such as event streams reach the client live.
+     */
+    protected void stream(String path, Long userId, List<MediaType> accept, HttpServletResponse target)
+            throws IOException {
+        try {
+            rest.execute(serverUrl + path, HttpMethod.GET, request -> {
+                request.getHeaders().setAccept(accept);
+                if (userId != null) {
+                    request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                }
+            }, response -> {
+                copy(response.getStatusCode(), response.getHeaders().getContentType(), response.getBody(), target);
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            MediaType contentType = e.getResponseHeaders() != null ? e.getResponseHeaders().getContentType() : null;
+            copy(e.getStatusCode(), contentType, new ByteArrayInputStream(e.getResponseBodyAsByteArray()), target);
+        }
+    }
+
+    private static void copy(HttpStatusCode status, MediaType contentType, InputStream body,
+                             HttpServletResponse target) throws IOException {
+        target.setStatus(status.value());
+        if (contentType != null) {
+            target.setContentType(contentType.toString());
+        }
+        target.flushBuffer();
+        OutputStream out = target.getOutputStream();
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           Map<String, Object> parameters, T body) {
         HttpHeaders headers = new HttpHeaders();
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,10 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -28,6 +33,11 @@ public class ItemClient extends BaseClient {
         return post(API_PREFIX, userId, itemDto);
     }
 
+    public ResponseEntity<Object> createAll(Long userId, List<ItemDto> itemDtos) {
+        log.debug("Sending POST request to create {} items for user ID: {}", itemDtos.size(), userId);
+        return post(API_PREFIX + "/batch", userId, itemDtos);
+    }
+
     public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
         log.debug("Sending PATCH request to update item ID: {} for user ID: {}", itemId, userId);
         return patch(API_PREFIX + "/" + itemId, userId, itemDto);
@@ -38,15 +48,63 @@ public class ItemClient extends BaseClient {
         return get(API_PREFIX + "/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllByUser(Long userId) {
-        log.debug("Sending GET request for all items of user ID: {}", userId);
-        return get(API_PREFIX, userId);
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Sending GET request for availability of item ID: {} from {} to {}", itemId, from, to);
+        StringBuilder path = new StringBuilder(API_PREFIX + "/" + itemId + "/availability");
+        Map<String, Object> parameters = new HashMap<>();
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append(parameters.size() == 1 ? "?" : "&").append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllByUser(Long userId, Integer from, Integer size) {
+        log.debug("Sending GET request for items of user ID: {}, from: {}, size: {}", userId, from, size);
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get(API_PREFIX + "?from={from}&size={size}", userId, parameters);
+    }
+
+    public void streamAllByUser(Long userId, HttpServletResponse response) throws IOException {
+        log.debug("Streaming GET request for all items of user ID: {}", userId);
+        stream(API_PREFIX + "/stream", userId, response);
+    }
+
+    public ResponseEntity<Object> search(String text, Integer from, Integer size, Long userId) {
+        log.debug("Sending GET request to search items with text: '{}', from: {}, size: {}", text, from, size);
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get(API_PREFIX + "/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(String prefix, Integer limit) {
+        log.debug("Sending GET request for item name suggestions with prefix: '{}'", prefix);
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "limit", limit
+        );
+        return get(API_PREFIX + "/suggest?prefix={prefix}&limit={limit}", null, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, Long userId) {
-        log.debug("Sending GET request to search items with text: '{}'", text);
-        Map<String, Object> parameters = Map.of("text", text);
-        return get(API_PREFIX + "/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> getComments(Long itemId, String after, Integer size) {
+        log.debug("Sending GET request for comments of item ID: {} after: {}, size: {}", itemId, after, size);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (after == null) {
+            return get(API_PREFIX + "/" + itemId + "/comments?size={size}", null, parameters);
+        }
+        parameters.put("after", after);
+        return get(API_PREFIX + "/" + itemId + "/comments?after={after}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentRequestDto commentRequestDto) {
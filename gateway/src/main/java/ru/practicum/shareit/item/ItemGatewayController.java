@@ -1,19 +1,43 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemGatewayController {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_OWNER_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    private static final int MAX_PREFIX_LENGTH = 100;
+    // suggestions change only when items do, so a few stale seconds are fine for a per-keystroke call
+    private static final CacheControl SUGGEST_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
     private final ItemClient itemClient;
+    private final Validator validator;
 
     @PostMapping
     public ResponseEntity<Object> create(
@@ -23,6 +47,15 @@ public class ItemGatewayController {
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<ItemDto> itemDtos) {
+        log.info("Gateway: Creating {} items for user ID: {}", itemDtos.size(), userId);
+        validateBatch(itemDtos);
+        return itemClient.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -40,24 +73,97 @@ public class ItemGatewayController {
         return itemClient.getById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Gateway: Getting availability of item ID: {} from {} to {}", itemId, from, to);
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("Availability window must end after it starts");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllByUser(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Gateway: Getting all items for user ID: {}", userId);
-        return itemClient.getAllByUser(userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Gateway: Getting items for user ID: {}, from: {}, size: {}", userId, from, size);
+        if (from < 0) {
+            throw new IllegalArgumentException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_OWNER_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size parameter must be from 1 to " + MAX_OWNER_PAGE_SIZE);
+        }
+        return itemClient.getAllByUser(userId, from, size);
+    }
+
+    @GetMapping("/stream")
+    public void streamAllByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            HttpServletResponse response) throws IOException {
+        log.info("Gateway: Streaming all items for user ID: {}", userId);
+        itemClient.streamAllByUser(userId, response);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(
             @RequestParam String text,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
             @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId) {
-        log.info("Gateway: Searching items with text: '{}'", text);
+        log.info("Gateway: Searching items with text: '{}', from: {}, size: {}", text, from, size);
+        validateSearchPage(from, size);
 
         if (text == null || text.isBlank()) {
             return ResponseEntity.ok("[]");
         }
+        if (text.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search text must be at least " + MIN_SEARCH_LENGTH
+                    + " characters; use /items/suggest for shorter prefixes");
+        }
+
+        return itemClient.search(text, from, size, userId);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.debug("Gateway: Suggesting item names for prefix: '{}'", prefix);
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit parameter must be from 1 to " + MAX_SUGGESTIONS);
+        }
+        if (prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Prefix cannot be longer than " + MAX_PREFIX_LENGTH + " characters");
+        }
+
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok().cacheControl(SUGGEST_CACHE).body("[]");
+        }
 
-        return itemClient.search(text, userId);
+        ResponseEntity<Object> response = itemClient.suggest(prefix, limit);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .cacheControl(SUGGEST_CACHE)
+                .body(response.getBody());
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Gateway: Getting comments of item ID: {} after: {}, size: {}", itemId, after, size);
+        if (size <= 0 || size > MAX_COMMENTS_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size parameter must be from 1 to " + MAX_COMMENTS_PAGE_SIZE);
+        }
+        return itemClient.getComments(itemId, after, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -69,4 +175,34 @@ public class ItemGatewayController {
         return itemClient.addComment(userId, itemId, commentRequestDto);
     }
 
-}
\ No newline at end of file
+    private void validateSearchPage(Integer from, Integer size) {
+        if (from < 0) {
+            throw new IllegalArgumentException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size parameter must be from 1 to " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (from + size > MAX_SEARCH_WINDOW) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_WINDOW + " matches");
+        }
+    }
+
+    private void validateBatch(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain from 1 to " + MAX_BATCH_SIZE + " items");
+        }
+        for (int i = 0; i < itemDtos.size(); i++) {
+            if (itemDtos.get(i) == null) {
+                throw new IllegalArgumentException("Item " + i + " cannot be null");
+            }
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDtos.get(i));
+            if (!violations.isEmpty()) {
+                String index = "Item " + i + ": ";
+                throw new IllegalArgumentException(violations.stream()
+                        .map(violation -> index + violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -27,9 +31,14 @@ public class ItemRequestClient extends BaseClient {
         return post(API_PREFIX, userId, itemRequestRequestDto);
     }
 
-    public ResponseEntity<Object> getOwnRequests(Long userId) {
-        log.debug("Sending GET request for own item requests of user ID: {}", userId);
-        return get(API_PREFIX, userId);
+    public ResponseEntity<Object> getOwnRequests(Long userId, Integer from, Integer size, Boolean itemCounts) {
+        log.debug("Sending GET request for own item requests of user ID: {}, from: {}, size: {}", userId, from, size);
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "itemCounts", itemCounts
+        );
+        return get(API_PREFIX + "?from={from}&size={size}&itemCounts={itemCounts}", userId, parameters);
     }
 
     public ResponseEntity<Object> getOtherUsersRequests(Long userId, Integer from, Integer size) {
@@ -41,6 +50,22 @@ public class ItemRequestClient extends BaseClient {
         return get(API_PREFIX + "/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getOtherUsersRequestsAfter(Long userId, String after, Integer size) {
+        log.debug("Sending GET request for other users' item requests for user ID: {} after cursor", userId);
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get(API_PREFIX + "/all?after={after}&size={size}", userId, parameters);
+    }
+
+    public void subscribe(Long userId, HttpServletResponse response) throws IOException {
+        log.debug("Streaming item request events for user ID: {}", userId);
+        // errors come back as JSON before the stream starts
+        stream(API_PREFIX + "/events", userId, List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON),
+                response);
+    }
+
     public ResponseEntity<Object> getById(Long userId, Long requestId) {
         log.debug("Sending GET request for item request ID: {} for user ID: {}", requestId, userId);
         return get(API_PREFIX + "/" + requestId, userId);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,11 +8,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
+import java.io.IOException;
+
 @Slf4j
 @RestController
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 public class ItemRequestGatewayController {
+    private static final int MAX_OWN_PAGE_SIZE = 100;
+
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
@@ -24,23 +29,44 @@ public class ItemRequestGatewayController {
 
     @GetMapping
     public ResponseEntity<Object> getOwnRequests(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Gateway: Getting own item requests for user ID: {}", userId);
-        return itemRequestClient.getOwnRequests(userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean itemCounts) {
+        log.info("Gateway: Getting own item requests for user ID: {}, from: {}, size: {}", userId, from, size);
+
+        validatePagination(from, size);
+        if (size > MAX_OWN_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size parameter must be from 1 to " + MAX_OWN_PAGE_SIZE);
+        }
+
+        return itemRequestClient.getOwnRequests(userId, from, size, itemCounts);
     }
 
     @GetMapping("/all")
     public ResponseEntity<Object> getOtherUsersRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Gateway: Getting other users' item requests for user ID: {}", userId);
 
         validatePagination(from, size);
 
+        if (after != null) {
+            return itemRequestClient.getOtherUsersRequestsAfter(userId, after, size);
+        }
         return itemRequestClient.getOtherUsersRequests(userId, from, size);
     }
 
+    @GetMapping("/events")
+    public void subscribe(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            HttpServletResponse response) throws IOException {
+        log.info("Gateway: Streaming item request events for user ID: {}", userId);
+        itemRequestClient.subscribe(userId, response);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -16,4 +16,5 @@ public class ItemRequestDto {
     private String description;
     private LocalDateTime created;
     private List<ItemDto> items;
+    private Integer itemCount;
 }
\ No newline at end of file
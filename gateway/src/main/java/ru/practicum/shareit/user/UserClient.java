@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,8 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -36,9 +39,18 @@ public class UserClient extends BaseClient {
         return get(API_PREFIX + "/" + userId, null);
     }
 
-    public ResponseEntity<Object> getAll() {
-        log.debug("Sending GET request for all users");
-        return get(API_PREFIX, null);
+    public ResponseEntity<Object> getAll(Integer from, Integer size) {
+        log.debug("Sending GET request for users from: {}, size: {}", from, size);
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get(API_PREFIX + "?from={from}&size={size}", null, parameters);
+    }
+
+    public void streamAll(HttpServletResponse response) throws IOException {
+        log.debug("Streaming GET request for all users");
+        stream(API_PREFIX + "/stream", null, response);
     }
 
     public ResponseEntity<Object> delete(Long userId) {
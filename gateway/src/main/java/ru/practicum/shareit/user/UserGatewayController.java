@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,11 +8,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+
 @Slf4j
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserGatewayController {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserClient userClient;
 
     @PostMapping
@@ -35,9 +40,23 @@ public class UserGatewayController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        log.info("Gateway: Getting all users");
-        return userClient.getAll();
+    public ResponseEntity<Object> getAll(
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Gateway: Getting users from: {}, size: {}", from, size);
+        if (from < 0) {
+            throw new IllegalArgumentException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size parameter must be from 1 to " + MAX_PAGE_SIZE);
+        }
+        return userClient.getAll(from, size);
+    }
+
+    @GetMapping("/stream")
+    public void streamAll(HttpServletResponse response) throws IOException {
+        log.info("Gateway: Streaming all users");
+        userClient.streamAll(response);
     }
 
     @DeleteMapping("/{userId}")
@@ -8,9 +8,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -77,6 +79,25 @@ class BookingClientTest {
         );
     }
 
+    @Test
+    void updateStatuses_shouldCallPatchMethodWithDecisions() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class)
+        )).thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.updateStatuses(1L, List.of(new BookingDecisionDto(1L, true)));
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/bookings/batch"),
+                eq(org.springframework.http.HttpMethod.PATCH),
+                any(),
+                eq(Object.class)
+        );
+    }
+
     @Test
     void getById_shouldCallGetMethod() {
         when(restTemplate.exchange(
@@ -137,4 +158,46 @@ class BookingClientTest {
                 anyMap()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBookerAfter_shouldCallGetMethodWithCursor() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.getAllByBookerAfter(1L, "ALL", "cursor", 10);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/bookings?state={state}&after={after}&size={size}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                any(),
+                eq(Object.class),
+                anyMap()
+        );
+    }
+
+    @Test
+    void getAllByOwnerAfter_shouldCallGetMethodWithCursor() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.getAllByOwnerAfter(1L, "ALL", "cursor", 10);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/bookings/owner?state={state}&after={after}&size={size}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                any(),
+                eq(Object.class),
+                anyMap()
+        );
+    }
+}
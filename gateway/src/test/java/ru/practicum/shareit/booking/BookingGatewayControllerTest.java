@@ -9,9 +9,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -85,6 +87,36 @@ class BookingGatewayControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void updateStatuses_shouldReturnOk() throws Exception {
+        when(bookingClient.updateStatuses(anyLong(), anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(1L, true)))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateStatuses_shouldReturnBadRequestWhenEmpty() throws Exception {
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateStatuses_shouldReturnBadRequestWhenDecisionIncomplete() throws Exception {
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(1L, null)))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getById_shouldReturnOk() throws Exception {
         when(bookingClient.getById(anyLong(), anyLong()))
@@ -164,4 +196,29 @@ class BookingGatewayControllerTest {
                         .param("size", "0"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBooker_shouldForwardCursor() throws Exception {
+        when(bookingClient.getAllByBookerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "next").build());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "cursor")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"));
+    }
+
+    @Test
+    void getAllByOwner_shouldForwardCursor() throws Exception {
+        when(bookingClient.getAllByOwnerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "FUTURE")
+                        .param("after", "cursor"))
+                .andExpect(status().isOk());
+    }
+}
@@ -47,18 +47,18 @@ class GatewayIntegrationTest {
         when(itemClient.create(anyLong(), any())).thenReturn(ResponseEntity.ok().build());
         when(itemClient.update(anyLong(), anyLong(), any())).thenReturn(ResponseEntity.ok().build());
         when(itemClient.getById(anyLong(), anyLong())).thenReturn(ResponseEntity.ok().build());
-        when(itemClient.getAllByUser(anyLong())).thenReturn(ResponseEntity.ok().build());
-        when(itemClient.search(anyString(), anyLong())).thenReturn(ResponseEntity.ok().build());
+        when(itemClient.getAllByUser(anyLong(), anyInt(), anyInt())).thenReturn(ResponseEntity.ok().build());
+        when(itemClient.search(anyString(), anyInt(), anyInt(), anyLong())).thenReturn(ResponseEntity.ok().build());
         when(itemClient.addComment(anyLong(), anyLong(), any())).thenReturn(ResponseEntity.ok().build());
 
         when(userClient.create(any())).thenReturn(ResponseEntity.ok().build());
         when(userClient.update(anyLong(), any())).thenReturn(ResponseEntity.ok().build());
         when(userClient.getById(anyLong())).thenReturn(ResponseEntity.ok().build());
-        when(userClient.getAll()).thenReturn(ResponseEntity.ok().build());
+        when(userClient.getAll(anyInt(), anyInt())).thenReturn(ResponseEntity.ok().build());
         when(userClient.delete(anyLong())).thenReturn(ResponseEntity.ok().build());
 
         when(itemRequestClient.create(anyLong(), any())).thenReturn(ResponseEntity.ok().build());
-        when(itemRequestClient.getOwnRequests(anyLong())).thenReturn(ResponseEntity.ok().build());
+        when(itemRequestClient.getOwnRequests(anyLong(), anyInt(), anyInt(), anyBoolean())).thenReturn(ResponseEntity.ok().build());
         when(itemRequestClient.getOtherUsersRequests(anyLong(), anyInt(), anyInt())).thenReturn(ResponseEntity.ok().build());
         when(itemRequestClient.getById(anyLong(), anyLong())).thenReturn(ResponseEntity.ok().build());
 
@@ -6,13 +6,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withResourceNotFound;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @ExtendWith(MockitoExtension.class)
 class ItemClientTest {
@@ -40,6 +52,25 @@ class ItemClientTest {
         commentRequestDto.setText("Отличный инструмент!");
     }
 
+    @Test
+    void createAll_shouldCallBatchPostMethod() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class)
+        )).thenReturn(ResponseEntity.ok().build());
+
+        itemClient.createAll(1L, List.of(itemDto));
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/items/batch"),
+                eq(org.springframework.http.HttpMethod.POST),
+                any(),
+                eq(Object.class)
+        );
+    }
+
     @Test
     void create_shouldCallPostMethod() {
         when(restTemplate.exchange(
@@ -103,16 +134,123 @@ class ItemClientTest {
                 anyString(),
                 any(org.springframework.http.HttpMethod.class),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                anyMap()
         )).thenReturn(ResponseEntity.ok().build());
 
-        itemClient.getAllByUser(1L);
+        itemClient.getAllByUser(1L, 20, 10);
 
         verify(restTemplate).exchange(
-                eq(serverUrl + "/items"),
+                eq(serverUrl + "/items?from={from}&size={size}"),
                 eq(org.springframework.http.HttpMethod.GET),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                eq(Map.of("from", 20, "size", 10))
+        );
+    }
+
+    @Test
+    void streamAllByUser_shouldCopyServerResponse() throws Exception {
+        RestTemplate realRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+        server.expect(requestTo(serverUrl + "/items/stream"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1},{\"id\":2}]", MediaType.APPLICATION_JSON));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ItemClient(serverUrl, realRestTemplate).streamAllByUser(1L, response);
+
+        server.verify();
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("[{\"id\":1},{\"id\":2}]", response.getContentAsString());
+    }
+
+    @Test
+    void streamAllByUser_shouldPassErrorsThrough() throws Exception {
+        RestTemplate realRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+        server.expect(requestTo(serverUrl + "/items/stream"))
+                .andRespond(withResourceNotFound()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User not found with ID: 1\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ItemClient(serverUrl, realRestTemplate).streamAllByUser(1L, response);
+
+        assertEquals(404, response.getStatus());
+        assertEquals("{\"error\":\"User not found with ID: 1\"}", response.getContentAsString());
+    }
+
+    @Test
+    void getAvailability_shouldPassOnlyGivenBounds() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 10, 0);
+
+        itemClient.getAvailability(null, 1L, null, to);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/items/1/availability?to={to}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                any(),
+                eq(Object.class),
+                eq(Map.<String, Object>of("to", to))
+        );
+    }
+
+    @Test
+    void suggest_shouldCallGetMethodWithoutUserHeader() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+
+        itemClient.suggest("дре", 10);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/items/suggest?prefix={prefix}&limit={limit}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                argThat(entity -> !entity.getHeaders().containsKey("X-Sharer-User-Id")),
+                eq(Object.class),
+                eq(Map.<String, Object>of("prefix", "дре", "limit", 10))
+        );
+    }
+
+    @Test
+    void getComments_shouldPassCursorOnlyWhenGiven() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+
+        itemClient.getComments(1L, null, 10);
+        itemClient.getComments(1L, "token", 10);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/items/1/comments?size={size}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                argThat(entity -> !entity.getHeaders().containsKey("X-Sharer-User-Id")),
+                eq(Object.class),
+                eq(Map.<String, Object>of("size", 10))
+        );
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/items/1/comments?after={after}&size={size}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                any(),
+                eq(Object.class),
+                eq(Map.<String, Object>of("after", "token", "size", 10))
         );
     }
 
@@ -126,10 +264,10 @@ class ItemClientTest {
                 anyMap()
         )).thenReturn(ResponseEntity.ok().build());
 
-        itemClient.search("дрель", 1L);
+        itemClient.search("дрель", 0, 10, 1L);
 
         verify(restTemplate).exchange(
-                eq(serverUrl + "/items/search?text={text}"),
+                eq(serverUrl + "/items/search?text={text}&from={from}&size={size}"),
                 eq(org.springframework.http.HttpMethod.GET),
                 any(),
                 eq(Object.class),
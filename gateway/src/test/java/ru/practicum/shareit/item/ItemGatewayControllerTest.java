@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +13,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -66,6 +73,28 @@ class ItemGatewayControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createAll_shouldReturnOk() throws Exception {
+        when(itemClient.createAll(anyLong(), anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, itemDto))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createAll_shouldReturnBadRequestWhenAnyItemInvalid() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, new ItemDto()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Item 1: ")));
+    }
+
     @Test
     void update_shouldReturnOk() throws Exception {
         when(itemClient.update(anyLong(), anyLong(), any(ItemDto.class)))
@@ -88,9 +117,32 @@ class ItemGatewayControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAvailability_shouldReturnOk() throws Exception {
+        when(itemClient.getAvailability(any(), anyLong(), any(), any()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-05T10:00:00"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAvailability_shouldReturnBadRequestWhenWindowInvalid() throws Exception {
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-05T10:00:00")
+                        .param("to", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "tomorrow"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllByUser_shouldReturnOk() throws Exception {
-        when(itemClient.getAllByUser(anyLong()))
+        when(itemClient.getAllByUser(1L, 0, 10))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/items")
@@ -98,17 +150,111 @@ class ItemGatewayControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllByUser_shouldRejectInvalidPage() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void getComments_shouldPassCursorWithoutUserHeader() throws Exception {
+        when(itemClient.getComments(1L, "token", 20))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "next").build());
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("after", "token")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"));
+    }
+
+    @Test
+    void getComments_shouldRejectInvalidSize() throws Exception {
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void streamAllByUser_shouldDelegateToClient() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemClient).streamAllByUser(eq(1L), any());
+
+        mockMvc.perform(get("/items/stream")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void search_shouldReturnOk() throws Exception {
-        when(itemClient.search(anyString(), anyLong()))
+        when(itemClient.search("дрель", 20, 10, 1L))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/items/search")
                         .param("text", "дрель")
+                        .param("from", "20")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void search_shouldReturnBadRequestWhenPageOutOfBounds() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("from", "995"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_shouldReturnBadRequestWhenTextShorterThanTrigram() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "др"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void suggest_shouldReturnCacheableResponse() throws Exception {
+        when(itemClient.suggest("дре", 10))
+                .thenReturn(ResponseEntity.ok(List.of("Дрель")));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$[0]").value("Дрель"));
+    }
+
+    @Test
+    void suggest_shouldReturnBadRequestWhenLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("limit", "21"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void search_shouldReturnEmptyArrayWhenBlankText() throws Exception {
         mockMvc.perform(get("/items/search")
@@ -6,12 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @ExtendWith(MockitoExtension.class)
 class ItemRequestClientTest {
@@ -58,16 +69,18 @@ class ItemRequestClientTest {
                 anyString(),
                 any(org.springframework.http.HttpMethod.class),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                anyMap()
         )).thenReturn(ResponseEntity.ok().build());
 
-        itemRequestClient.getOwnRequests(1L);
+        itemRequestClient.getOwnRequests(1L, 20, 10, true);
 
         verify(restTemplate).exchange(
-                eq(serverUrl + "/requests"),
+                eq(serverUrl + "/requests?from={from}&size={size}&itemCounts={itemCounts}"),
                 eq(org.springframework.http.HttpMethod.GET),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                eq(Map.<String, Object>of("from", 20, "size", 10, "itemCounts", true))
         );
     }
 
@@ -92,6 +105,45 @@ class ItemRequestClientTest {
         );
     }
 
+    @Test
+    void getOtherUsersRequestsAfter_shouldPassCursor() {
+        when(restTemplate.exchange(
+                anyString(),
+                any(org.springframework.http.HttpMethod.class),
+                any(),
+                eq(Object.class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok().build());
+
+        itemRequestClient.getOtherUsersRequestsAfter(1L, "token", 10);
+
+        verify(restTemplate).exchange(
+                eq(serverUrl + "/requests/all?after={after}&size={size}"),
+                eq(org.springframework.http.HttpMethod.GET),
+                any(),
+                eq(Object.class),
+                eq(Map.<String, Object>of("after", "token", "size", 10))
+        );
+    }
+
+    @Test
+    void subscribe_shouldCopyEventStream() throws Exception {
+        RestTemplate realRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+        server.expect(requestTo(serverUrl + "/requests/events"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andExpect(header(HttpHeaders.ACCEPT, containsString(MediaType.TEXT_EVENT_STREAM_VALUE)))
+                .andRespond(withSuccess("event:item\nid:5\ndata:{\"id\":5}\n\n", MediaType.TEXT_EVENT_STREAM));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ItemRequestClient(serverUrl, realRestTemplate).subscribe(1L, response);
+
+        server.verify();
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, response.getContentType());
+        assertEquals("event:item\nid:5\ndata:{\"id\":5}\n\n", response.getContentAsString());
+    }
+
     @Test
     void getById_shouldCallGetMethod() {
         when(restTemplate.exchange(
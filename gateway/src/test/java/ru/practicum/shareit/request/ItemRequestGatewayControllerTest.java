@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -61,7 +65,7 @@ class ItemRequestGatewayControllerTest {
 
     @Test
     void getOwnRequests_shouldReturnOk() throws Exception {
-        when(itemRequestClient.getOwnRequests(anyLong()))
+        when(itemRequestClient.getOwnRequests(1L, 0, 10, false))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/requests")
@@ -69,6 +73,20 @@ class ItemRequestGatewayControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getOwnRequests_shouldRejectInvalidPage() throws Exception {
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "101")
+                        .param("itemCounts", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getOtherUsersRequests_shouldReturnOk() throws Exception {
         when(itemRequestClient.getOtherUsersRequests(anyLong(), anyInt(), anyInt()))
@@ -100,6 +118,35 @@ class ItemRequestGatewayControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getOtherUsersRequests_shouldPassCursorToClient() throws Exception {
+        when(itemRequestClient.getOtherUsersRequestsAfter(1L, "token", 5))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "next").build());
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "token")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"));
+    }
+
+    @Test
+    void subscribe_shouldDelegateToClient() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            response.getOutputStream().write("event:item\ndata:{}\n\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemRequestClient).subscribe(eq(1L), any());
+
+        mockMvc.perform(get("/requests/events")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:item\ndata:{}\n\n"));
+    }
+
     @Test
     void getById_shouldReturnOk() throws Exception {
         when(itemRequestClient.getById(anyLong(), anyLong()))
@@ -6,12 +6,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @ExtendWith(MockitoExtension.class)
 class UserClientTest {
@@ -97,19 +105,36 @@ class UserClientTest {
                 anyString(),
                 any(org.springframework.http.HttpMethod.class),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                anyMap()
         )).thenReturn(ResponseEntity.ok().build());
 
-        userClient.getAll();
+        userClient.getAll(20, 10);
 
         verify(restTemplate).exchange(
-                eq(serverUrl + "/users"),
+                eq(serverUrl + "/users?from={from}&size={size}"),
                 eq(org.springframework.http.HttpMethod.GET),
                 any(),
-                eq(Object.class)
+                eq(Object.class),
+                eq(Map.of("from", 20, "size", 10))
         );
     }
 
+    @Test
+    void streamAll_shouldCopyServerResponse() throws Exception {
+        RestTemplate realRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+        server.expect(requestTo(serverUrl + "/users/stream"))
+                .andRespond(withSuccess("[{\"id\":1},{\"id\":2}]", MediaType.APPLICATION_JSON));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new UserClient(serverUrl, realRestTemplate).streamAll(response);
+
+        server.verify();
+        assertEquals(200, response.getStatus());
+        assertEquals("[{\"id\":1},{\"id\":2}]", response.getContentAsString());
+    }
+
     @Test
     void delete_shouldCallDeleteMethod() {
         when(restTemplate.exchange(
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -90,13 +95,36 @@ class UserGatewayControllerTest {
 
     @Test
     void getAll_shouldReturnOk() throws Exception {
-        when(userClient.getAll())
+        when(userClient.getAll(0, 10))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAll_shouldRejectOversizedPage() throws Exception {
+        mockMvc.perform(get("/users")
+                        .param("size", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void streamAll_shouldDelegateToClient() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(0);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userClient).streamAll(any());
+
+        mockMvc.perform(get("/users/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void delete_shouldReturnOk() throws Exception {
         when(userClient.delete(anyLong()))
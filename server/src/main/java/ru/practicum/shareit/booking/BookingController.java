@@ -2,9 +2,13 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -13,6 +17,8 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -22,6 +28,13 @@ public class BookingController {
         return bookingService.create(userId, bookingRequestDto);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> updateStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("Applying {} booking decisions for owner ID: {}", decisions.size(), userId);
+        return bookingService.updateStatuses(userId, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                            @PathVariable Long bookingId,
@@ -38,22 +51,40 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BookingResponseDto>> getAllByBooker(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Getting bookings for booker ID: {} with state: {}", userId, state);
-        return bookingService.getAllByBooker(userId, state, from, size);
+        List<BookingResponseDto> bookings = after != null
+                ? bookingService.getAllByBookerAfter(userId, state, after, size)
+                : bookingService.getAllByBooker(userId, state, from, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BookingResponseDto>> getAllByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Getting bookings for owner ID: {} with state: {}", userId, state);
-        return bookingService.getAllByOwner(userId, state, from, size);
+        List<BookingResponseDto> bookings = after != null
+                ? bookingService.getAllByOwnerAfter(userId, state, after, size)
+                : bookingService.getAllByOwner(userId, state, from, size);
+        return withNextCursor(bookings, size);
     }
 
-
-}
\ No newline at end of file
+    private ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingResponseDto last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getStart(), last.getId()).encode())
+                .body(bookings);
+    }
+}
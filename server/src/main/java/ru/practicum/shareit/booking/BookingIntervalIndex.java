@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of WAITING and APPROVED booking periods per item.
+ * Active periods of one item never overlap (the database exclusion constraint guarantees it),
+ * so a tree keyed by start date answers an overlap query with a single lowerEntry lookup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, NavigableMap<LocalDateTime, BookingIntervalDto>> intervalsByItem = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<BookingIntervalDto> intervals = bookingRepository.findIntervalsByStatusInAndEndIsAfter(
+                ACTIVE_STATUSES, LocalDateTime.now());
+        intervalsByItem.clear();
+        intervals.forEach(this::put);
+        log.info("Booking interval index rebuilt with {} intervals for {} items",
+                intervals.size(), intervalsByItem.size());
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, BookingIntervalDto> intervals = intervalsByItem.get(itemId);
+        if (intervals == null) {
+            return false;
+        }
+        synchronized (intervals) {
+            Map.Entry<LocalDateTime, BookingIntervalDto> candidate = intervals.lowerEntry(end);
+            return candidate != null && candidate.getValue().getEnd().isAfter(start);
+        }
+    }
+
+    public void add(BookingIntervalDto interval) {
+        put(interval);
+        afterRollback(() -> delete(interval));
+    }
+
+    public void remove(BookingIntervalDto interval) {
+        delete(interval);
+        afterRollback(() -> put(interval));
+    }
+
+    private void put(BookingIntervalDto interval) {
+        NavigableMap<LocalDateTime, BookingIntervalDto> intervals =
+                intervalsByItem.computeIfAbsent(interval.getItemId(), id -> new TreeMap<>());
+        synchronized (intervals) {
+            evictFinished(intervals);
+            intervals.put(interval.getStart(), interval);
+        }
+    }
+
+    private void delete(BookingIntervalDto interval) {
+        NavigableMap<LocalDateTime, BookingIntervalDto> intervals = intervalsByItem.get(interval.getItemId());
+        if (intervals == null) {
+            return;
+        }
+        // a reloaded booking may carry the column's rounded precision, so the stored key is the nearest
+        // start on either side; periods never overlap, so no other interval can sit in between
+        synchronized (intervals) {
+            removeIfSame(intervals, intervals.floorEntry(interval.getStart()), interval);
+            removeIfSame(intervals, intervals.ceilingEntry(interval.getStart()), interval);
+        }
+    }
+
+    private static void removeIfSame(NavigableMap<LocalDateTime, BookingIntervalDto> intervals,
+                                     Map.Entry<LocalDateTime, BookingIntervalDto> entry,
+                                     BookingIntervalDto interval) {
+        if (entry != null && entry.getValue().getId().equals(interval.getId())) {
+            intervals.remove(entry.getKey());
+        }
+    }
+
+    private void evictFinished(NavigableMap<LocalDateTime, BookingIntervalDto> intervals) {
+        LocalDateTime now = LocalDateTime.now();
+        while (!intervals.isEmpty() && intervals.firstEntry().getValue().getEnd().isBefore(now)) {
+            intervals.pollFirstEntry();
+        }
+    }
+
+    private void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+}
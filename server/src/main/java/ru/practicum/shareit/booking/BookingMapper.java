@@ -18,9 +18,11 @@ public interface BookingMapper {
 
     @Mapping(target = "item.id", source = "itemId")
     @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "ownerId", ignore = true)
     Booking toBooking(BookingDto bookingDto);
 
     @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "ownerId", ignore = true)
     Booking toBooking(BookingRequestDto bookingRequestDto);
 
     @Mapping(target = "item", source = "booking.item")
@@ -2,54 +2,120 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingStatusBatchRepository {
+    // the first conjunct is the index bound; the second only settles ties on start
+    String AFTER_CURSOR = "b.start <= :cursorStart AND (b.start < :cursorStart OR b.id < :cursorId)";
+    String NEWEST_FIRST = " ORDER BY b.start DESC, b.id DESC";
+    String WITH_ITEM_AND_BOOKER = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker ";
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.id = :bookingId")
+    Optional<Booking> findWithItemAndBookerById(@Param("bookingId") Long bookingId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status " +
+            "WHERE b.id = :bookingId AND b.ownerId = :ownerId AND b.status = :expected")
+    int updateStatusIfCurrent(@Param("bookingId") Long bookingId,
+                              @Param("ownerId") Long ownerId,
+                              @Param("expected") BookingStatus expected,
+                              @Param("status") BookingStatus status);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.booker.id = :bookerId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerId(@Param("bookerId") Long bookerId,
+                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.booker.id = :bookerId " +
+            "AND b.start < :now AND b.end > :now AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findCurrentByBookerId(@Param("bookerId") Long bookerId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.booker.id = :bookerId AND b.end < :now AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findPastByBookerId(@Param("bookerId") Long bookerId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.booker.id = :bookerId AND b.start > :now AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findFutureByBookerId(@Param("bookerId") Long bookerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.booker.id = :bookerId AND b.status = :status AND " +
+            AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerIdAndStatus(@Param("bookerId") Long bookerId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.ownerId = :ownerId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerId(@Param("ownerId") Long ownerId,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.ownerId = :ownerId " +
+            "AND b.start < :now AND b.end > :now AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findCurrentByItemOwnerId(@Param("ownerId") Long ownerId,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.ownerId = :ownerId AND b.end < :now AND " +
+            AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findPastByItemOwnerId(@Param("ownerId") Long ownerId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.ownerId = :ownerId AND b.start > :now AND " +
+            AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findFutureByItemOwnerId(@Param("ownerId") Long ownerId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(WITH_ITEM_AND_BOOKER + "WHERE b.ownerId = :ownerId AND b.status = :status AND " +
+            AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                             @Param("status") BookingStatus status,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    boolean existsByItemIdAndBookerIdAndEndIsBefore(Long itemId, Long bookerId, LocalDateTime end);
 
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdOrderByStartDesc(@Param("ownerId") Long ownerId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND b.end < :end ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
-            @Param("ownerId") Long ownerId, @Param("end") LocalDateTime end, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND b.start > :start ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(
-            @Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND b.status = :status ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
-            @Param("ownerId") Long ownerId, @Param("status") BookingStatus status, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.start < :currentTime AND b.end > :currentTime ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            @Param("ownerId") Long ownerId,
-            @Param("currentTime") LocalDateTime currentTime,
-            Pageable pageable);
-
-    List<Booking> findByItemIdAndEndIsBeforeOrderByStartDesc(Long itemId, LocalDateTime end);
-
-    List<Booking> findByItemIdAndStartIsAfterOrderByStartDesc(Long itemId, LocalDateTime start);
+    List<Booking> findByItemIdOrderByStartDesc(Long itemId);
 
-    List<Booking> findByItemIdAndBookerIdAndEndIsBefore(Long itemId, Long bookerId, LocalDateTime end);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.end > :now")
+    List<BookingIntervalDto> findIntervalsByStatusInAndEndIsAfter(
+            @Param("statuses") List<BookingStatus> statuses, @Param("now") LocalDateTime now);
 
-    List<Booking> findByItemIdOrderByStartDesc(Long itemId);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end > :now ORDER BY b.start")
+    List<BookingIntervalDto> findIntervalsByItemIdAndStatusInAndEndIsAfter(
+            @Param("itemId") Long itemId, @Param("statuses") List<BookingStatus> statuses, @Param("now") LocalDateTime now);
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
@@ -10,9 +12,15 @@ public interface BookingService {
 
     BookingResponseDto updateStatus(Long userId, Long bookingId, Boolean approved);
 
+    List<BookingDecisionResultDto> updateStatuses(Long userId, List<BookingDecisionDto> decisions);
+
     BookingResponseDto getById(Long userId, Long bookingId);
 
     List<BookingResponseDto> getAllByBooker(Long userId, String state, Integer from, Integer size);
 
+    List<BookingResponseDto> getAllByBookerAfter(Long userId, String state, String after, Integer size);
+
     List<BookingResponseDto> getAllByOwner(Long userId, String state, Integer from, Integer size);
+
+    List<BookingResponseDto> getAllByOwnerAfter(Long userId, String state, String after, Integer size);
 }
\ No newline at end of file
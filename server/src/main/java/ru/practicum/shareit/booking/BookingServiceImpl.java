@@ -2,24 +2,38 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,10 +41,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    static final int MAX_DECISIONS = 100;
+    static final String PERIOD_CONSTRAINT = "ex_booking_item_period";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final CompletedBookingIndex completedBookingIndex;
 
     @Override
     @Transactional
@@ -48,7 +69,18 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isPeriodOverlap(e)) {
+                throw e;
+            }
+            throw new ConflictException("Item is already booked for the requested period");
+        }
+        bookingIntervalIndex.add(toInterval(savedBooking));
+        completedBookingIndex.bookingCreated(item.getId(), booker.getId(), savedBooking.getEnd());
+        itemAvailabilityCache.invalidate(item.getId());
         log.info("Created booking with ID: {}", savedBooking.getId());
 
         return bookingMapper.toBookingResponseDto(savedBooking);
@@ -57,25 +89,75 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingResponseDto updateStatus(Long userId, Long bookingId, Boolean approved) {
-        if (!userRepository.existsById(userId)) {
-            throw new ForbiddenException("User not found with ID: " + userId);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatusIfCurrent(bookingId, userId, BookingStatus.WAITING, status) == 0) {
+            throw statusUpdateRefusal(userId, bookingId);
         }
 
-        Booking booking = getBookingOrThrow(bookingId);
+        Booking updatedBooking = getBookingWithItemAndBookerOrThrow(bookingId);
+        if (status == BookingStatus.REJECTED) {
+            bookingIntervalIndex.remove(toInterval(updatedBooking));
+        }
+        itemAvailabilityCache.invalidate(updatedBooking.getItem().getId());
 
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
-            throw new ForbiddenException("Only item owner can approve/reject booking");
+        log.info("Updated booking ID: {} status to: {}", bookingId, status);
+        return bookingMapper.toBookingResponseDto(updatedBooking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> updateStatuses(Long userId, List<BookingDecisionDto> decisions) {
+        validateDecisions(decisions);
+        if (!userRepository.existsById(userId)) {
+            throw new ForbiddenException("User not found with ID: " + userId);
         }
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new BadRequestException("Booking status is already decided");
+        Map<Long, Booking> bookings = bookingRepository.findAllById(
+                        decisions.stream().map(BookingDecisionDto::getBookingId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, String> errors = new LinkedHashMap<>();
+        Map<Long, BookingStatus> changes = new LinkedHashMap<>();
+        Set<Long> seen = new LinkedHashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            if (!seen.add(bookingId)) {
+                continue;
+            }
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                errors.put(bookingId, "Booking not found with ID: " + bookingId);
+            } else if (!booking.getOwnerId().equals(userId)) {
+                errors.put(bookingId, "Only item owner can approve/reject booking");
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                errors.put(bookingId, "Booking status is already decided");
+            } else {
+                changes.put(bookingId, decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            }
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Set<Long> updated = changes.isEmpty()
+                ? Set.of()
+                : bookingRepository.updateStatusesIfCurrent(userId, BookingStatus.WAITING, changes);
+
+        List<BookingDecisionResultDto> results = new ArrayList<>(seen.size());
+        for (Long bookingId : seen) {
+            BookingStatus status = changes.get(bookingId);
+            if (status != null && updated.contains(bookingId)) {
+                if (status == BookingStatus.REJECTED) {
+                    bookingIntervalIndex.remove(toInterval(bookings.get(bookingId)));
+                }
+                itemAvailabilityCache.invalidate(bookings.get(bookingId).getItem().getId());
+                results.add(new BookingDecisionResultDto(bookingId, status, null));
+            } else {
+                String error = errors.getOrDefault(bookingId, "Booking status is already decided");
+                results.add(new BookingDecisionResultDto(bookingId, null, error));
+            }
+        }
 
-        log.info("Updated booking ID: {} status to: {}", bookingId, updatedBooking.getStatus());
-        return bookingMapper.toBookingResponseDto(updatedBooking);
+        log.info("Applied {} of {} booking decisions for owner ID: {}", updated.size(), results.size(), userId);
+        return results;
     }
 
     @Override
@@ -95,33 +177,58 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDto> getAllByBooker(Long userId, String state, Integer from, Integer size) {
         validatePagination(from, size);
         getUserOrThrow(userId);
+        return findByBooker(userId, state, KeysetCursor.FIRST, OffsetPageRequest.of(from, size));
+    }
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
+    @Override
+    public List<BookingResponseDto> getAllByBookerAfter(Long userId, String state, String after, Integer size) {
+        validatePagination(0, size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        getUserOrThrow(userId);
+        return findByBooker(userId, state, cursor, OffsetPageRequest.of(0, size));
+    }
 
-        List<Booking> bookings;
+    @Override
+    public List<BookingResponseDto> getAllByOwner(Long userId, String state, Integer from, Integer size) {
+        validatePagination(from, size);
+        getUserOrThrow(userId);
+        return findByOwner(userId, state, KeysetCursor.FIRST, OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    public List<BookingResponseDto> getAllByOwnerAfter(Long userId, String state, String after, Integer size) {
+        validatePagination(0, size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        getUserOrThrow(userId);
+        return findByOwner(userId, state, cursor, OffsetPageRequest.of(0, size));
+    }
+
+    private List<BookingResponseDto> findByBooker(Long userId, String state, KeysetCursor cursor, Pageable pageable) {
+        LocalDateTime cursorStart = cursor.timestamp();
+        Long cursorId = cursor.id();
         LocalDateTime now = LocalDateTime.now();
 
+        List<Booking> bookings;
         switch (state.toUpperCase()) {
             case "ALL":
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable);
+                bookings = bookingRepository.findByBookerId(userId, cursorStart, cursorId, pageable);
                 break;
             case "CURRENT":
-                bookings = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                        userId, now, now, pageable);
+                bookings = bookingRepository.findCurrentByBookerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "PAST":
-                bookings = bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, now, pageable);
+                bookings = bookingRepository.findPastByBookerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "FUTURE":
-                bookings = bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, now, pageable);
+                bookings = bookingRepository.findFutureByBookerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "WAITING":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
+                bookings = bookingRepository.findByBookerIdAndStatus(
+                        userId, BookingStatus.WAITING, cursorStart, cursorId, pageable);
                 break;
             case "REJECTED":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
+                bookings = bookingRepository.findByBookerIdAndStatus(
+                        userId, BookingStatus.REJECTED, cursorStart, cursorId, pageable);
                 break;
             default:
                 throw new BadRequestException("Unknown state: " + state);
@@ -132,37 +239,32 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<BookingResponseDto> getAllByOwner(Long userId, String state, Integer from, Integer size) {
-        validatePagination(from, size);
-        getUserOrThrow(userId);
-
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
-
-        List<Booking> bookings;
+    private List<BookingResponseDto> findByOwner(Long userId, String state, KeysetCursor cursor, Pageable pageable) {
+        LocalDateTime cursorStart = cursor.timestamp();
+        Long cursorId = cursor.id();
         LocalDateTime now = LocalDateTime.now();
 
+        List<Booking> bookings;
         switch (state.toUpperCase()) {
             case "ALL":
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageable);
+                bookings = bookingRepository.findByItemOwnerId(userId, cursorStart, cursorId, pageable);
                 break;
             case "CURRENT":
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                        userId, now, pageable);
+                bookings = bookingRepository.findCurrentByItemOwnerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "PAST":
-                bookings = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(userId, now, pageable);
+                bookings = bookingRepository.findPastByItemOwnerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "FUTURE":
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(userId, now, pageable);
+                bookings = bookingRepository.findFutureByItemOwnerId(userId, now, cursorStart, cursorId, pageable);
                 break;
             case "WAITING":
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
+                bookings = bookingRepository.findByItemOwnerIdAndStatus(
+                        userId, BookingStatus.WAITING, cursorStart, cursorId, pageable);
                 break;
             case "REJECTED":
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
+                bookings = bookingRepository.findByItemOwnerIdAndStatus(
+                        userId, BookingStatus.REJECTED, cursorStart, cursorId, pageable);
                 break;
             default:
                 throw new BadRequestException("Unknown state: " + state);
@@ -202,6 +304,56 @@ public class BookingServiceImpl implements BookingService {
         if (bookingRequestDto.getStart().isBefore(LocalDateTime.now())) {
             throw new BadRequestException("Start date cannot be in the past");
         }
+
+        if (bookingIntervalIndex.overlaps(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            throw new ConflictException("Item is already booked for the requested period");
+        }
+    }
+
+    private RuntimeException statusUpdateRefusal(Long userId, Long bookingId) {
+        if (!userRepository.existsById(userId)) {
+            return new ForbiddenException("User not found with ID: " + userId);
+        }
+        Booking booking = getBookingOrThrow(bookingId);
+        if (!booking.getOwnerId().equals(userId)) {
+            return new ForbiddenException("Only item owner can approve/reject booking");
+        }
+        return new BadRequestException("Booking status is already decided");
+    }
+
+    /**
+     * Tells a violation of the exclusion constraint on active booking periods from other integrity errors.
+     */
+    static boolean isPeriodOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && PERIOD_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BookingIntervalDto toInterval(Booking booking) {
+        return new BookingIntervalDto(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private void validateDecisions(List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new BadRequestException("Decisions cannot be empty");
+        }
+        if (decisions.size() > MAX_DECISIONS) {
+            throw new BadRequestException("Cannot decide more than " + MAX_DECISIONS + " bookings at once");
+        }
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new BadRequestException("Each decision needs a booking ID and an approved flag");
+            }
+        }
     }
 
     private void validatePagination(Integer from, Integer size) {
@@ -227,4 +379,9 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
     }
+
+    private Booking getBookingWithItemAndBookerOrThrow(Long bookingId) {
+        return bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
+    }
 }
\ No newline at end of file
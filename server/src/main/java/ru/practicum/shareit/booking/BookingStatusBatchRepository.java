@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface BookingStatusBatchRepository {
+    /**
+     * Applies every status change in one JDBC batch, each guarded like
+     * {@link BookingRepository#updateStatusIfCurrent}, and returns the ids of the rows actually changed.
+     */
+    Set<Long> updateStatusesIfCurrent(Long ownerId, BookingStatus expected, Map<Long, BookingStatus> statuses);
+}
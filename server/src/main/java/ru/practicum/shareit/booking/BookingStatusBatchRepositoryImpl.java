@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class BookingStatusBatchRepositoryImpl implements BookingStatusBatchRepository {
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE bookings SET status = ? WHERE id = ? AND owner_id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Long> updateStatusesIfCurrent(Long ownerId, BookingStatus expected,
+                                             Map<Long, BookingStatus> statuses) {
+        List<Long> ids = new ArrayList<>(statuses.keySet());
+        List<Object[]> arguments = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            arguments.add(new Object[]{statuses.get(id).name(), id, ownerId, expected.name()});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, arguments);
+        Set<Long> updated = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updated.add(ids.get(i));
+            }
+        }
+        return updated;
+    }
+}
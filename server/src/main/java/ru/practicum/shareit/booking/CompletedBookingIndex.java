@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Remembers which (item, booker) pairs have a finished booking, the condition for commenting on an item.
+ * Each pair is packed into one long and kept in an open-addressing set of primitives. A pair is learned the
+ * first time the database confirms it, and bookings created here wait in a queue by end date until they
+ * finish, so a known pair never costs a query again. A pair is queued only under its earliest end, and the
+ * queue is drained on every lookup and every new booking, so it holds at most one entry per unfinished pair
+ * plus those superseded by an earlier end. A negative answer is not kept: a booking may still end.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletedBookingIndex {
+    private static final long MAX_PACKED_ID = 0xFFFF_FFFFL;
+
+    private final BookingRepository bookingRepository;
+    private final LongHashSet completed = new LongHashSet();
+    private final PriorityQueue<PendingEnd> pending = new PriorityQueue<>(Comparator.comparing(PendingEnd::end));
+    private final Map<Long, LocalDateTime> earliestPendingEnd = new HashMap<>();
+
+    public boolean hasCompletedBooking(Long itemId, Long bookerId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!fits(itemId) || !fits(bookerId)) {
+            return bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(itemId, bookerId, now);
+        }
+
+        long key = pack(itemId, bookerId);
+        synchronized (this) {
+            promoteFinished(now);
+            if (completed.contains(key)) {
+                return true;
+            }
+        }
+        boolean found = bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(itemId, bookerId, now);
+        if (found) {
+            synchronized (this) {
+                completed.add(key);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Queues the pair to become eligible once the booking ends, after the creating transaction commits.
+     */
+    public void bookingCreated(Long itemId, Long bookerId, LocalDateTime end) {
+        if (!fits(itemId) || !fits(bookerId)) {
+            return;
+        }
+        long key = pack(itemId, bookerId);
+        afterCommit(() -> {
+            synchronized (this) {
+                promoteFinished(LocalDateTime.now());
+                LocalDateTime queued = earliestPendingEnd.get(key);
+                if (!completed.contains(key) && (queued == null || end.isBefore(queued))) {
+                    earliestPendingEnd.put(key, end);
+                    pending.add(new PendingEnd(end, key));
+                }
+            }
+        });
+    }
+
+    synchronized int size() {
+        return completed.size;
+    }
+
+    synchronized int pendingSize() {
+        return pending.size();
+    }
+
+    private void promoteFinished(LocalDateTime now) {
+        while (!pending.isEmpty() && pending.peek().end().isBefore(now)) {
+            PendingEnd finished = pending.poll();
+            completed.add(finished.key());
+            earliestPendingEnd.remove(finished.key(), finished.end());
+        }
+    }
+
+    private static boolean fits(Long id) {
+        return id != null && id > 0 && id <= MAX_PACKED_ID;
+    }
+
+    private static long pack(long itemId, long bookerId) {
+        return itemId << 32 | bookerId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private record PendingEnd(LocalDateTime end, long key) {
+    }
+
+    /**
+     * Linear-probing set of non-zero longs kept at most half full; packed keys are never zero.
+     */
+    private static final class LongHashSet {
+        private long[] slots = new long[1024];
+        private int size;
+
+        boolean contains(long key) {
+            for (int at = slot(key, slots.length); slots[at] != 0; at = (at + 1) & (slots.length - 1)) {
+                if (slots[at] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(long key) {
+            if (contains(key)) {
+                return;
+            }
+            if (2 * (size + 1) > slots.length) {
+                long[] old = slots;
+                slots = new long[old.length * 2];
+                for (long stored : old) {
+                    if (stored != 0) {
+                        insert(stored);
+                    }
+                }
+            }
+            insert(key);
+            size++;
+        }
+
+        private void insert(long key) {
+            int at = slot(key, slots.length);
+            while (slots[at] != 0) {
+                at = (at + 1) & (slots.length - 1);
+            }
+            slots[at] = key;
+        }
+
+        private static int slot(long key, int length) {
+            long mixed = key * 0x9E37_79B9_7F4A_7C15L;
+            return (int) (mixed >>> 32) & (length - 1);
+        }
+    }
+}
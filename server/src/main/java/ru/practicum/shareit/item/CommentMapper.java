@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.model.Comment;
 
 @Mapper(componentModel = "spring")
 public interface CommentMapper {
+    @Mapping(target = "itemId", source = "item.id")
     @Mapping(target = "authorName", source = "author.name")
     CommentDto toCommentDto(Comment comment);
 
@@ -1,14 +1,34 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    // comment reads project the author name in the same statement instead of initializing the lazy author;
+    // the leading range on created is what lets the (item_id, created, id) index seek to the cursor
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.item.id, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId " +
+            "AND c.created <= :cursorCreated AND (c.created < :cursorCreated OR c.id < :cursorId) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findNewestDtosByItemId(@Param("itemId") Long itemId,
+                                            @Param("cursorCreated") LocalDateTime cursorCreated,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    // numbering each item's comments newest first keeps the result at perItem rows per item
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(n.id, n.text, n.itemId, n.authorName, n.created) " +
+            "FROM (SELECT c.id AS id, c.text AS text, c.item.id AS itemId, a.name AS authorName, c.created AS created, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) AS position " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds) n " +
+            "WHERE n.position <= :perItem ORDER BY n.itemId, n.created DESC, n.id DESC")
+    List<CommentDto> findNewestDtosByItemIdIn(@Param("itemIds") List<Long> itemIds, @Param("perItem") int perItem);
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived per-item cache of the data behind GET /items/{id}/availability, bounded to the most
+ * recently used items. A load only lands in the cache if the item was not invalidated while it ran,
+ * and writers invalidate again after their transaction completes, so readers never pin a pre-commit view.
+ */
+@Component
+public class ItemAvailabilityCache {
+    static final Duration TTL = Duration.ofSeconds(30);
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public Snapshot get(Long itemId, Supplier<Snapshot> loader) {
+        Entry ticket = new Entry(null, 0);
+        synchronized (this) {
+            Entry cached = entries.get(itemId);
+            if (cached != null && cached.isFresh()) {
+                return cached.snapshot();
+            }
+            entries.put(itemId, ticket);
+        }
+
+        Snapshot snapshot;
+        try {
+            snapshot = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                entries.remove(itemId, ticket);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            if (entries.get(itemId) == ticket) {
+                entries.put(itemId, new Entry(snapshot, System.nanoTime() + TTL.toNanos()));
+            }
+        }
+        return snapshot;
+    }
+
+    public void invalidate(Long itemId) {
+        remove(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(itemId);
+                }
+            });
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(Long itemId) {
+        entries.remove(itemId);
+    }
+
+    public record Snapshot(boolean available, List<BookingIntervalDto> busy) {
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+        boolean isFresh() {
+            return snapshot != null && System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -15,7 +27,12 @@ import java.util.List;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String TOTAL_COUNT_EXACT_HEADER = "X-Total-Count-Exact";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -24,6 +41,13 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        log.info("Creating {} items for user ID: {}", itemDtos.size(), userId);
+        return itemService.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @PathVariable Long itemId,
@@ -39,16 +63,77 @@ public class ItemController {
         return itemService.getById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityIntervalDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Getting availability of item ID: {} from {} to {}", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping
-    public List<ItemWithBookingsDto> getAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Getting all items for user ID: {}", userId);
-        return itemService.getAllByUser(userId);
+    public List<ItemWithBookingsDto> getAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                  @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Getting items for user ID: {}, from: {}, size: {}", userId, from, size);
+        return itemService.getAllByUser(userId, from, size);
+    }
+
+    /**
+     * Writes all of the owner's items as one JSON array while they are read from the database.
+     * The user is checked before anything is written, so that failure still maps to an error status.
+     */
+    @GetMapping("/stream")
+    public void streamAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletResponse response) throws IOException {
+        log.info("Streaming all items for user ID: {}", userId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+        itemService.streamAllByUser(userId, item -> {
+            try {
+                generator.writeObject(item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.close();
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        log.info("Searching items with text: '{}'", text);
-        return itemService.search(text);
+    public ResponseEntity<List<ItemDto>> search(@RequestParam String text,
+                                                @RequestParam(defaultValue = "0") Integer from,
+                                                @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Searching items with text: '{}', from: {}, size: {}", text, from, size);
+        ItemSearchPageDto page = itemService.search(text, from, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalHits()))
+                .header(TOTAL_COUNT_EXACT_HEADER, String.valueOf(page.isExact()))
+                .body(page.getItems());
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix,
+                                @RequestParam(defaultValue = "10") Integer limit) {
+        log.debug("Suggesting item names for prefix: '{}'", prefix);
+        return itemService.suggest(prefix, limit);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Getting comments of item ID: {} after: {}, size: {}", itemId, after, size);
+        List<CommentDto> comments = itemService.getComments(itemId, after, size);
+        if (comments.size() < size) {
+            return ResponseEntity.ok(comments);
+        }
+        CommentDto last = comments.get(comments.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getCreated(), last.getId()).encode())
+                .body(comments);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -22,5 +22,7 @@ public interface ItemMapper {
     @Mapping(target = "available", source = "itemDto.available")
     @Mapping(target = "owner", source = "owner")
     @Mapping(target = "request", ignore = true)
+    @Mapping(target = "commentsCount", ignore = true)
+    @Mapping(target = "lastCommentedAt", ignore = true)
     Item toItem(ItemDto itemDto, User owner);
 }
\ No newline at end of file
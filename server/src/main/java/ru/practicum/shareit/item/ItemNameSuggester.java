@@ -0,0 +1,438 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over the names of available items for typeahead. A name is reachable from the start of
+ * each of its words, so "дре" suggests "Аккумуляторная дрель". Each word start adds a key of at most
+ * {@link #MAX_KEY_LENGTH} characters; a longer prefix walks that far and checks the names found there
+ * against the full text. Chains of single children are collapsed into one edge, so the trie holds at most
+ * two nodes per distinct key. Each distinct name is stored once in a table and terminals keep its int id.
+ * Children are kept sorted by the first character of their edge and every node lies on the path to at
+ * least one name, so collecting the first N suggestions in alphabetical order walks about N paths below
+ * the prefix whatever the catalogue size.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+    static final int MAX_KEY_LENGTH = 32;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> nameIdByItem = new HashMap<>();
+    private final NameTable nameTable = new NameTable();
+    // writes that race with a rebuild are replayed on top of the freshly loaded items
+    private final Map<Long, ItemDto> writesDuringRebuild = new HashMap<>();
+    private Node root = new Node("");
+    private boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        setRebuilding();
+        List<ItemDto> items = itemRepository.findAvailableForSearch();
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            nameIdByItem.clear();
+            nameTable.clear();
+            rebuilding = false;
+            items.forEach(this::put);
+            writesDuringRebuild.values().forEach(this::put);
+            writesDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item name suggester rebuilt with {} names", nameIdByItem.size());
+    }
+
+    private void setRebuilding() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns names whose words complete the prefix, in alphabetical order of the completed text.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT).stripLeading();
+        Predicate<String> accepted = key.length() > MAX_KEY_LENGTH ? name -> hasWordStartingWith(name, key) : name -> true;
+        String path = key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+        List<String> suggestions = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            Node node = find(path);
+            if (node != null) {
+                collect(node, suggestions, limit, accepted);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    /**
+     * Indexes the item's current name (dropping it if unavailable); on rollback the previous name returns.
+     */
+    public void index(ItemDto item) {
+        String previous = put(item);
+        afterRollback(() -> put(new ItemDto(item.getId(), previous, null, previous != null, null)));
+    }
+
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return root.count() - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String put(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                writesDuringRebuild.put(item.getId(), new ItemDto(item.getId(), item.getName(), null, item.getAvailable(), null));
+            }
+            Integer previousId = nameIdByItem.remove(item.getId());
+            String previous = previousId != null ? nameTable.name(previousId) : null;
+            if (previousId != null && nameTable.release(previousId)) {
+                for (String key : wordKeys(previous)) {
+                    remove(root, key, 0, previousId);
+                }
+            }
+            String name = item.getName();
+            if (Boolean.TRUE.equals(item.getAvailable()) && name != null && !name.isBlank()) {
+                int nameId = nameTable.acquire(name);
+                nameIdByItem.put(item.getId(), nameId);
+                if (nameTable.holders(nameId) == 1) {
+                    for (String key : wordKeys(name)) {
+                        add(key, nameId);
+                    }
+                }
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the node whose path starts with the key, or null; the key may end inside that node's edge.
+     */
+    private Node find(String key) {
+        Node node = root;
+        int at = 0;
+        while (at < key.length()) {
+            Node child = node.child(key.charAt(at));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.edge, key, at);
+            if (at + common < key.length() && common < child.edge.length()) {
+                return null;
+            }
+            node = child;
+            at += common;
+        }
+        return node;
+    }
+
+    private void add(String key, int nameId) {
+        Node node = root;
+        int at = 0;
+        while (at < key.length()) {
+            Node child = node.child(key.charAt(at));
+            if (child == null) {
+                child = new Node(key.substring(at));
+                node.addChild(child);
+                child.addName(nameId, nameTable);
+                return;
+            }
+            int common = commonPrefix(child.edge, key, at);
+            if (common < child.edge.length()) {
+                Node split = new Node(child.edge.substring(0, common));
+                node.replaceChild(split);
+                child.edge = child.edge.substring(common);
+                split.addChild(child);
+                child = split;
+            }
+            node = child;
+            at += common;
+        }
+        node.addName(nameId, nameTable);
+    }
+
+    /**
+     * Removes the name id below the key, then prunes nodes that lead nowhere and merges nodes left with one child.
+     */
+    private void remove(Node node, String key, int at, int nameId) {
+        if (at == key.length()) {
+            node.removeName(nameId);
+            return;
+        }
+        Node child = node.child(key.charAt(at));
+        if (child == null || !key.startsWith(child.edge, at)) {
+            return;
+        }
+        remove(child, key, at + child.edge.length(), nameId);
+        if (child.nameCount == 0 && child.size == 0) {
+            node.removeChild(child.edge.charAt(0));
+        } else if (child.nameCount == 0 && child.size == 1) {
+            Node only = child.children[0];
+            only.edge = child.edge + only.edge;
+            node.replaceChild(only);
+        }
+    }
+
+    private void collect(Node node, List<String> suggestions, int limit, Predicate<String> accepted) {
+        for (int i = 0; i < node.nameCount; i++) {
+            if (suggestions.size() == limit) {
+                return;
+            }
+            String name = nameTable.name(node.nameIds[i]);
+            if (!suggestions.contains(name) && accepted.test(name)) {
+                suggestions.add(name);
+            }
+        }
+        for (int i = 0; i < node.size && suggestions.size() < limit; i++) {
+            collect(node.children[i], suggestions, limit, accepted);
+        }
+    }
+
+    private static int commonPrefix(String edge, String key, int at) {
+        int length = Math.min(edge.length(), key.length() - at);
+        int common = 0;
+        while (common < length && edge.charAt(common) == key.charAt(at + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Returns the distinct keys stored for a name: the lower-cased text from each word start, cut to
+     * {@link #MAX_KEY_LENGTH}.
+     */
+    private static Set<String> wordKeys(String name) {
+        String text = name.toLowerCase(Locale.ROOT);
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i)) {
+                keys.add(text.substring(i, Math.min(text.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    private static boolean hasWordStartingWith(String name, String key) {
+        String text = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i) && text.startsWith(key, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(String text, int at) {
+        return Character.isLetterOrDigit(text.charAt(at)) && (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1)));
+    }
+
+    private void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Distinct display names by int id, with the number of available items carrying each; freed ids are reused.
+     */
+    private static final class NameTable {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> idByName = new HashMap<>();
+        private int[] holders = new int[16];
+        private int[] freeIds = new int[16];
+        private int freeCount;
+
+        String name(int id) {
+            return names.get(id);
+        }
+
+        int holders(int id) {
+            return holders[id];
+        }
+
+        int acquire(String name) {
+            Integer id = idByName.get(name);
+            if (id == null) {
+                if (freeCount > 0) {
+                    id = freeIds[--freeCount];
+                    names.set(id, name);
+                } else {
+                    id = names.size();
+                    names.add(name);
+                    if (id == holders.length) {
+                        holders = Arrays.copyOf(holders, id * 2);
+                    }
+                }
+                idByName.put(name, id);
+            }
+            holders[id]++;
+            return id;
+        }
+
+        /**
+         * Drops one holder of the name and returns true when it was the last, freeing the id.
+         */
+        boolean release(int id) {
+            if (--holders[id] > 0) {
+                return false;
+            }
+            idByName.remove(names.get(id));
+            names.set(id, null);
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+            return true;
+        }
+
+        void clear() {
+            names.clear();
+            idByName.clear();
+            Arrays.fill(holders, 0);
+            freeCount = 0;
+        }
+    }
+
+    private static final class Node {
+        private String edge;
+        private Node[] children = new Node[0];
+        private int size;
+        // ids of the names whose key ends here, ordered by display name
+        private int[] nameIds = new int[0];
+        private int nameCount;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char first) {
+            int at = indexOf(first);
+            return at >= 0 ? children[at] : null;
+        }
+
+        void addChild(Node child) {
+            int insertAt = -indexOf(child.edge.charAt(0)) - 1;
+            if (size == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, size * 2));
+            }
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            children[insertAt] = child;
+            size++;
+        }
+
+        /**
+         * Puts the node in place of the child whose edge starts with the same character.
+         */
+        void replaceChild(Node child) {
+            children[indexOf(child.edge.charAt(0))] = child;
+        }
+
+        void removeChild(char first) {
+            int at = indexOf(first);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(children, at + 1, children, at, size - at - 1);
+            size--;
+            children[size] = null;
+        }
+
+        void addName(int nameId, NameTable table) {
+            String name = table.name(nameId);
+            int insertAt = 0;
+            while (insertAt < nameCount && table.name(nameIds[insertAt]).compareTo(name) < 0) {
+                insertAt++;
+            }
+            if (insertAt < nameCount && nameIds[insertAt] == nameId) {
+                return;
+            }
+            if (nameCount == nameIds.length) {
+                nameIds = Arrays.copyOf(nameIds, Math.max(1, nameCount * 2));
+            }
+            System.arraycopy(nameIds, insertAt, nameIds, insertAt + 1, nameCount - insertAt);
+            nameIds[insertAt] = nameId;
+            nameCount++;
+        }
+
+        void removeName(int nameId) {
+            for (int i = 0; i < nameCount; i++) {
+                if (nameIds[i] == nameId) {
+                    System.arraycopy(nameIds, i + 1, nameIds, i, nameCount - i - 1);
+                    nameCount--;
+                    return;
+                }
+            }
+        }
+
+        int count() {
+            int count = 1;
+            for (int i = 0; i < size; i++) {
+                count += children[i].count();
+            }
+            return count;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char key = children[mid].edge.charAt(0);
+                if (key < first) {
+                    low = mid + 1;
+                } else if (key > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -1,25 +1,84 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestItemCountDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String LIKE_ESCAPE = "!";
+
     List<Item> findByOwnerIdOrderById(Long ownerId);
 
+    /**
+     * Case-insensitive substring match on name or description, the same rule the in-memory search index
+     * applies, so results do not change once it is ready. Only used until then.
+     */
+    default List<Item> searchAvailableItems(String text, Pageable pageable) {
+        String escaped = text.replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return findAvailableContaining(escaped, pageable);
+    }
+
     @Query("SELECT i FROM Item i WHERE i.available = true AND " +
-            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
-            "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItems(@Param("text") String text);
+            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) ESCAPE '" + LIKE_ESCAPE + "' OR " +
+            "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')) ESCAPE '" + LIKE_ESCAPE + "') ORDER BY i.id")
+    List<Item> findAvailableContaining(@Param("text") String escapedText, Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.request.id IN :requestIds")
     List<Item> findByRequestIdIn(@Param("requestIds") List<Long> requestIds);
 
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestItemCountDto(i.request.id, COUNT(i)) " +
+            "FROM Item i WHERE i.request.id IN :requestIds GROUP BY i.request.id")
+    List<RequestItemCountDto> countByRequestIdIn(@Param("requestIds") List<Long> requestIds);
+
     @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
     List<Item> findByRequestId(@Param("requestId") Long requestId);
-}
\ No newline at end of file
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item i WHERE i.available = true ORDER BY i.id")
+    List<ItemDto> findAvailableForSearch();
+
+    String ITEM_DETAILS = "SELECT new ru.practicum.shareit.item.dto.ItemDetailsDto(i.id, i.name, i.description, " +
+            "i.available, i.owner.id, i.request.id, i.commentsCount, i.lastCommentedAt, lb.id, lb.booker.id, lb.start, lb.end, " +
+            "nb.id, nb.booker.id, nb.start, nb.end) " +
+            "FROM Item i " +
+            "LEFT JOIN Booking lb ON lb.id = (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id AND b.end < :now ORDER BY b.start DESC, b.id DESC LIMIT 1) " +
+            "LEFT JOIN Booking nb ON nb.id = (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id AND b.start > :now ORDER BY b.start ASC, b.id ASC LIMIT 1) ";
+
+    @Modifying
+    @Query("UPDATE Item i SET i.commentsCount = i.commentsCount + 1, i.lastCommentedAt = " +
+            "CASE WHEN i.lastCommentedAt IS NULL OR i.lastCommentedAt < :created THEN :created " +
+            "ELSE i.lastCommentedAt END WHERE i.id = :itemId")
+    void addComment(@Param("itemId") Long itemId, @Param("created") LocalDateTime created);
+
+    @Query(ITEM_DETAILS + "WHERE i.id = :itemId")
+    Optional<ItemDetailsDto> findDetailsById(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query(ITEM_DETAILS + "WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<ItemDetailsDto> findDetailsByOwnerId(@Param("ownerId") Long ownerId,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ITEM_DETAILS + "WHERE i.owner.id = :ownerId ORDER BY i.id")
+    Stream<ItemDetailsDto> streamDetailsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+}
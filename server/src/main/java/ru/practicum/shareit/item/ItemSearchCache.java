@@ -0,0 +1,174 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of search pages keyed by the lower-cased query text and page bounds. Only the ranked item ids
+ * are kept and resolved through the index on a hit, and the cache is bounded by the total number of cached
+ * ids rather than by entry count. A write evicts just the queries the item matched before or matches after
+ * it; ranking statistics of unrelated writes are not worth a flush. Every write also bumps a version so a
+ * page loaded while it ran is never stored, and writers evict again after their transaction completes.
+ */
+@Component
+public class ItemSearchCache {
+    static final String NAME = "itemSearch";
+    static final long MAX_WEIGHT = 100_000;
+    // a cached page costs its ids plus a fixed share for the key and the map entry
+    static final int ENTRY_OVERHEAD = 16;
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter writeEvictions;
+    private long weight;
+    private long version;
+
+    public ItemSearchCache(ItemSearchIndex itemSearchIndex, MeterRegistry meterRegistry) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.hits = Counter.builder("cache.gets").tag("cache", NAME).tag("result", "hit")
+                .description("Search pages served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", NAME).tag("result", "miss")
+                .description("Search pages computed by the index").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("cache.evictions").tag("cache", NAME).tag("cause", "size")
+                .description("Least recently used pages dropped to stay within the weight bound")
+                .register(meterRegistry);
+        this.writeEvictions = Counter.builder("cache.evictions").tag("cache", NAME).tag("cause", "write")
+                .description("Pages dropped because a matching item changed").register(meterRegistry);
+        Gauge.builder("cache.size", this, ItemSearchCache::size).tag("cache", NAME)
+                .description("Cached search pages").register(meterRegistry);
+        Gauge.builder("cache.weight", this, ItemSearchCache::weight).tag("cache", NAME)
+                .description("Item ids held by cached search pages").register(meterRegistry);
+    }
+
+    public ItemSearchPageDto get(String text, int from, int size, Supplier<ItemSearchPageDto> loader) {
+        Key key = new Key(normalize(text), from, size);
+        Entry cached;
+        long seen;
+        synchronized (this) {
+            cached = entries.get(key);
+            seen = version;
+        }
+        if (cached != null) {
+            List<ItemDto> items = itemSearchIndex.findAll(cached.ids());
+            if (items != null && isCurrent(seen)) {
+                hits.increment();
+                return new ItemSearchPageDto(items, cached.totalHits(), cached.exact());
+            }
+        }
+
+        misses.increment();
+        ItemSearchPageDto page = loader.get();
+        put(key, Entry.of(page), seen);
+        return page;
+    }
+
+    /**
+     * Evicts the queries the item matched before the write or matches after it, now and once the
+     * transaction completes. The previous state is null for a created item.
+     */
+    public void invalidate(ItemDto before, ItemDto after) {
+        invalidate(Arrays.asList(before, after));
+    }
+
+    /**
+     * Evicts the queries matched by any of the given item states in one pass over the cache.
+     */
+    public void invalidate(List<ItemDto> states) {
+        evictMatching(states);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictMatching(states);
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized boolean isCurrent(long seen) {
+        return version == seen;
+    }
+
+    private synchronized void put(Key key, Entry entry, long seen) {
+        if (version != seen) {
+            return;
+        }
+        Entry replaced = entries.put(key, entry);
+        weight += entry.weight() - (replaced == null ? 0 : replaced.weight());
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > MAX_WEIGHT && eldest.hasNext()) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private synchronized void evictMatching(List<ItemDto> states) {
+        version++;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> cached = iterator.next();
+            String text = cached.getKey().text();
+            if (states.stream().anyMatch(item -> matches(item, text))) {
+                weight -= cached.getValue().weight();
+                iterator.remove();
+                writeEvictions.increment();
+            }
+        }
+    }
+
+    private static boolean matches(ItemDto item, String text) {
+        return item != null && Boolean.TRUE.equals(item.getAvailable())
+                && (normalize(item.getName()).contains(text) || normalize(item.getDescription()).contains(text));
+    }
+
+    // the index matches lower-cased substrings, so nothing else can be folded without changing results
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String text, int from, int size) {
+    }
+
+    private record Entry(long[] ids, long totalHits, boolean exact) {
+        static Entry of(ItemSearchPageDto page) {
+            long[] ids = page.getItems().stream().mapToLong(ItemDto::getId).toArray();
+            return new Entry(ids, page.getTotalHits(), page.isExact());
+        }
+
+        long weight() {
+            return ids.length + ENTRY_OVERHEAD;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over available items for case-insensitive substring search.
+ * Every indexed item gets a dense document number, in id order after a rebuild; each trigram of its
+ * name and description maps to a sorted int[] of document numbers. A query intersects the posting lists
+ * of its own trigrams and checks the few surviving candidates with a plain contains, so no query touches
+ * the database. Matches are ranked with BM25F over the query words: name hits weigh more than description
+ * hits, field lengths are kept per document, and a word's document frequency is bounded by its rarest
+ * trigram's posting list. Every candidate is verified and scored, so a page is the true top of the ranking
+ * and the total is exact; only the best from + size hits are kept while scoring. A query shorter than a
+ * trigram has no posting list to narrow it and would have to check every document, so it matches nothing;
+ * the service rejects such queries and typeahead goes through the name suggester instead.
+ * Updates never rewrite posting lists: the old document is marked dead and the item is appended again,
+ * and the lists are rebuilt once dead documents outnumber live ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    static final int GRAM = 3;
+    static final double NAME_WEIGHT = 3.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_COMPACTION = 1024;
+    private static final String WORD_SEPARATORS = "[^\\p{L}\\p{N}]+";
+    // on equal scores the older document ranks higher, so it is evicted last
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::doc).reversed());
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documentByItem = new HashMap<>();
+    private final BitSet live = new BitSet();
+    // writes that race with a rebuild are replayed on top of the freshly loaded items
+    private final Map<Long, ItemDto> writesDuringRebuild = new HashMap<>();
+    private ItemDto[] documents = new ItemDto[1024];
+    private int[] nameLengths = new int[1024];
+    private int[] descriptionLengths = new int[1024];
+    private int documentCount;
+    private int liveCount;
+    private long liveNameLength;
+    private long liveDescriptionLength;
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        setRebuilding();
+        List<ItemDto> items = itemRepository.findAvailableForSearch();
+        lock.writeLock().lock();
+        try {
+            clear();
+            items.forEach(this::append);
+            rebuilding = false;
+            writesDuringRebuild.values().forEach(this::put);
+            writesDuringRebuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index rebuilt with {} items and {} trigrams", items.size(), postings.size());
+    }
+
+    private void setRebuilding() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns one page of matches, best first, with the exact number of matches; empty for queries under {@link #GRAM}.
+     */
+    public ItemSearchPageDto search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        if (query.length() < GRAM) {
+            return new ItemSearchPageDto(List.of(), 0, true);
+        }
+        lock.readLock().lock();
+        try {
+            Page page = new Page(query, from, size);
+            for (int doc : candidates(query)) {
+                page.offer(doc);
+            }
+            return page.toDto();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed items with the given ids in that order, or null if any of them is no longer indexed.
+     */
+    public List<ItemDto> findAll(long[] itemIds) {
+        List<ItemDto> items = new ArrayList<>(itemIds.length);
+        lock.readLock().lock();
+        try {
+            for (long itemId : itemIds) {
+                Integer doc = documentByItem.get(itemId);
+                if (doc == null) {
+                    return null;
+                }
+                items.add(copy(documents[doc]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return items;
+    }
+
+    /**
+     * Indexes the item as it is now (dropping it if unavailable); on rollback the previous state returns.
+     */
+    public void index(ItemDto item) {
+        ItemDto previous = put(item);
+        afterRollback(() -> {
+            if (previous != null) {
+                put(previous);
+            } else {
+                put(new ItemDto(item.getId(), item.getName(), item.getDescription(), false, item.getRequestId()));
+            }
+        });
+    }
+
+    private ItemDto put(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                writesDuringRebuild.put(item.getId(), copy(item));
+            }
+            ItemDto previous = null;
+            Integer existing = documentByItem.remove(item.getId());
+            if (existing != null) {
+                previous = documents[existing];
+                live.clear(existing);
+                liveCount--;
+                liveNameLength -= nameLengths[existing];
+                liveDescriptionLength -= descriptionLengths[existing];
+            }
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                append(copy(item));
+            }
+            if (documentCount - liveCount > Math.max(MIN_COMPACTION, liveCount)) {
+                compact();
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(ItemDto item) {
+        int doc = documentCount++;
+        if (doc == documents.length) {
+            documents = Arrays.copyOf(documents, doc * 2);
+            nameLengths = Arrays.copyOf(nameLengths, doc * 2);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, doc * 2);
+        }
+        documents[doc] = item;
+        nameLengths[doc] = wordCount(item.getName());
+        descriptionLengths[doc] = wordCount(item.getDescription());
+        documentByItem.put(item.getId(), doc);
+        live.set(doc);
+        liveCount++;
+        liveNameLength += nameLengths[doc];
+        liveDescriptionLength += descriptionLengths[doc];
+        addTrigrams(doc, item.getName());
+        addTrigrams(doc, item.getDescription());
+    }
+
+    private void addTrigrams(int doc, String text) {
+        if (text == null) {
+            return;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            postings.computeIfAbsent(trigram(normalized, i), key -> new Postings()).add(doc);
+        }
+    }
+
+    private int[] candidates(String query) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Postings list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = intersect(result, size, lists.get(i));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int intersect(int[] result, int size, Postings other) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size; i++) {
+            int found = Arrays.binarySearch(other.docs, from, other.size, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Upper bound of the number of live documents containing the word: the size of its rarest trigram's list.
+     */
+    private int documentFrequency(String word) {
+        if (word.length() < GRAM) {
+            return liveCount;
+        }
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            Postings list = postings.get(trigram(word, i));
+            frequency = Math.min(frequency, list == null ? 0 : list.size);
+        }
+        return Math.min(frequency, liveCount);
+    }
+
+    private static int wordCount(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        for (String word : text.split(WORD_SEPARATORS)) {
+            if (!word.isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int occurrences(String text, String word) {
+        int count = 0;
+        for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + word.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String lowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private void compact() {
+        ItemDto[] liveItems = new ItemDto[liveCount];
+        int next = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            liveItems[next++] = documents[doc];
+        }
+        clear();
+        for (ItemDto item : liveItems) {
+            append(item);
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        documentByItem.clear();
+        live.clear();
+        documents = new ItemDto[1024];
+        nameLengths = new int[1024];
+        descriptionLengths = new int[1024];
+        documentCount = 0;
+        liveCount = 0;
+        liveNameLength = 0;
+        liveDescriptionLength = 0;
+    }
+
+    private static long trigram(String text, int offset) {
+        return (long) text.charAt(offset) << 32 | (long) text.charAt(offset + 1) << 16 | text.charAt(offset + 2);
+    }
+
+    private static ItemDto copy(ItemDto item) {
+        return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getRequestId());
+    }
+
+    private void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+
+    private record Hit(ItemDto item, int doc, double score) {
+    }
+
+    /**
+     * Collects matches into a min-heap of the best from + size hits, so ranking never sorts all candidates.
+     * Must be used under the read lock.
+     */
+    private final class Page {
+        private final String query;
+        private final int from;
+        private final int size;
+        private final String[] words;
+        private final double[] idf;
+        private final double averageNameLength;
+        private final double averageDescriptionLength;
+        private final PriorityQueue<Hit> best;
+        private int matched;
+
+        Page(String query, int from, int size) {
+            this.query = query;
+            this.from = from;
+            this.size = size;
+            this.words = Arrays.stream(query.split(WORD_SEPARATORS))
+                    .filter(word -> !word.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new);
+            this.idf = new double[words.length];
+            for (int i = 0; i < words.length; i++) {
+                int frequency = documentFrequency(words[i]);
+                idf[i] = Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+            }
+            this.averageNameLength = Math.max(1.0, (double) liveNameLength / Math.max(1, liveCount));
+            this.averageDescriptionLength = Math.max(1.0, (double) liveDescriptionLength / Math.max(1, liveCount));
+            this.best = new PriorityQueue<>(from + size + 1, WORST_FIRST);
+        }
+
+        void offer(int doc) {
+            if (live.get(doc)) {
+                ItemDto item = documents[doc];
+                String name = lowerCase(item.getName());
+                String description = lowerCase(item.getDescription());
+                if (name.contains(query) || description.contains(query)) {
+                    matched++;
+                    best.offer(new Hit(item, doc, score(doc, name, description)));
+                    if (best.size() > from + size) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        private double score(int doc, String name, String description) {
+            double nameNorm = 1 - B + B * nameLengths[doc] / averageNameLength;
+            double descriptionNorm = 1 - B + B * descriptionLengths[doc] / averageDescriptionLength;
+            double score = 0;
+            for (int i = 0; i < words.length; i++) {
+                double frequency = NAME_WEIGHT * occurrences(name, words[i]) / nameNorm
+                        + DESCRIPTION_WEIGHT * occurrences(description, words[i]) / descriptionNorm;
+                score += idf[i] * frequency / (K1 + frequency);
+            }
+            return score;
+        }
+
+        ItemSearchPageDto toDto() {
+            Hit[] ranked = new Hit[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll();
+            }
+            List<ItemDto> items = new ArrayList<>(size);
+            for (int i = from; i < ranked.length; i++) {
+                items.add(copy(ranked[i].item()));
+            }
+            return new ItemSearchPageDto(items, matched, true);
+        }
+    }
+
+    /**
+     * Growable sorted int array of document numbers; documents are only ever appended in increasing order.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
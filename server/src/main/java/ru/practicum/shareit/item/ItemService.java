@@ -2,18 +2,37 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemDto itemDto);
 
+    List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos);
+
     ItemDto update(Long userId, Long itemId, ItemDto itemDto);
 
     ItemWithBookingsDto getById(Long userId, Long itemId);
 
-    List<ItemWithBookingsDto> getAllByUser(Long userId);
+    List<ItemWithBookingsDto> getAllByUser(Long userId, Integer from, Integer size);
+
+    /**
+     * Passes every item of the owner to the consumer from a database cursor, in id order.
+     * Throws before the first item if the user does not exist.
+     */
+    void streamAllByUser(Long userId, Consumer<ItemWithBookingsDto> consumer);
+
+    /**
+     * Returns a page of the item's comments, newest first, starting after the given cursor if any.
+     */
+    List<CommentDto> getComments(Long itemId, String after, Integer size);
+
+    ItemSearchPageDto search(String text, Integer from, Integer size);
+
+    List<String> suggest(String prefix, Integer limit);
 
-    List<ItemDto> search(String text);
+    List<AvailabilityIntervalDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto addComment(Long userId, Long itemId, CommentRequestDto commentRequestDto);
 }
\ No newline at end of file
@@ -5,28 +5,48 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.CompletedBookingIndex;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.ItemRequestEventHub;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_OWNER_PAGE_SIZE = 1000;
+    static final int STREAM_CHUNK_SIZE = 500;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_WINDOW = 1000;
+    static final int MAX_SUGGESTIONS = 20;
+    static final int EMBEDDED_COMMENTS = 10;
+    static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    static final Duration DEFAULT_AVAILABILITY_WINDOW = Duration.ofDays(30);
+    static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(366);
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
@@ -34,6 +54,12 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemSearchCache itemSearchCache;
+    private final CompletedBookingIndex completedBookingIndex;
+    private final ItemRequestEventHub itemRequestEventHub;
 
     @Override
     @Transactional
@@ -51,7 +77,55 @@ public class ItemServiceImpl implements ItemService {
 
         Item savedItem = itemRepository.save(item);
         log.info("Created item with ID: {}", savedItem.getId());
-        return itemMapper.toItemDto(savedItem);
+        ItemDto savedItemDto = itemMapper.toItemDto(savedItem);
+        itemSearchIndex.index(savedItemDto);
+        itemSearchCache.invalidate(null, savedItemDto);
+        itemNameSuggester.index(savedItemDto);
+        notifyRequester(savedItem, savedItemDto);
+        return savedItemDto;
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos) {
+        if (itemDtos == null || itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain from 1 to " + MAX_BATCH_SIZE + " items");
+        }
+        User owner = getUserOrThrow(userId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (ItemDto itemDto : itemDtos) {
+            Item item = itemMapper.toItem(itemDto, owner);
+            item.setId(null);
+            if (itemDto.getRequestId() != null) {
+                ItemRequest itemRequest = requests.get(itemDto.getRequestId());
+                if (itemRequest == null) {
+                    throw new NotFoundException("Item request not found with ID: " + itemDto.getRequestId());
+                }
+                item.setRequest(itemRequest);
+            }
+            items.add(item);
+        }
+
+        List<Item> saved = itemRepository.saveAll(items);
+        List<ItemDto> savedItems = new ArrayList<>(saved.size());
+        for (Item savedItem : saved) {
+            ItemDto savedItemDto = itemMapper.toItemDto(savedItem);
+            itemSearchIndex.index(savedItemDto);
+            itemNameSuggester.index(savedItemDto);
+            notifyRequester(savedItem, savedItemDto);
+            savedItems.add(savedItemDto);
+        }
+        itemSearchCache.invalidate(savedItems);
+        log.info("Created {} items for user ID: {}", savedItems.size(), userId);
+        return savedItems;
     }
 
     @Override
@@ -59,6 +133,7 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
         Item existingItem = getItemOrThrow(itemId);
         checkOwnership(userId, existingItem);
+        ItemDto previousItemDto = itemMapper.toItemDto(existingItem);
 
         if (itemDto.getName() != null) {
             existingItem.setName(itemDto.getName());
@@ -79,47 +154,135 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
-        return itemMapper.toItemDto(updatedItem);
+        itemAvailabilityCache.invalidate(itemId);
+        ItemDto updatedItemDto = itemMapper.toItemDto(updatedItem);
+        itemSearchIndex.index(updatedItemDto);
+        itemSearchCache.invalidate(previousItemDto, updatedItemDto);
+        itemNameSuggester.index(updatedItemDto);
+        return updatedItemDto;
     }
 
     @Override
     public ItemWithBookingsDto getById(Long userId, Long itemId) {
-        Item item = getItemOrThrow(itemId);
-        ItemWithBookingsDto itemDto = convertToItemWithBookingsDto(item);
+        ItemDetailsDto details = itemRepository.findDetailsById(itemId, LocalDateTime.now())
+                .orElseThrow(() -> new NotFoundException("Item not found with ID: " + itemId));
+        ItemWithBookingsDto itemDto = convertToItemWithBookingsDto(details, details.getOwnerId().equals(userId));
+        itemDto.setComments(commentRepository.findNewestDtosByItemId(itemId,
+                KeysetCursor.FIRST.timestamp(), KeysetCursor.FIRST.id(), OffsetPageRequest.of(0, EMBEDDED_COMMENTS)));
+        return itemDto;
+    }
 
-        if (item.getOwner().getId().equals(userId)) {
-            addBookingInfo(item, itemDto);
+    @Override
+    public List<CommentDto> getComments(Long itemId, String after, Integer size) {
+        if (size <= 0 || size > MAX_COMMENTS_PAGE_SIZE) {
+            throw new BadRequestException("Size parameter must be from 1 to " + MAX_COMMENTS_PAGE_SIZE);
         }
+        KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : KeysetCursor.FIRST;
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found with ID: " + itemId);
+        }
+        return commentRepository.findNewestDtosByItemId(itemId, cursor.timestamp(), cursor.id(),
+                OffsetPageRequest.of(0, size));
+    }
 
-        addCommentsInfo(item, itemDto);
-        return itemDto;
+    @Override
+    public List<ItemWithBookingsDto> getAllByUser(Long userId, Integer from, Integer size) {
+        if (from < 0) {
+            throw new BadRequestException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_OWNER_PAGE_SIZE) {
+            throw new BadRequestException("Size parameter must be from 1 to " + MAX_OWNER_PAGE_SIZE);
+        }
+        getUserOrThrow(userId);
+        List<ItemDetailsDto> page = itemRepository.findDetailsByOwnerId(userId, LocalDateTime.now(),
+                OffsetPageRequest.of(from, size));
+        return convertToItemsWithBookings(page);
     }
 
     @Override
-    public List<ItemWithBookingsDto> getAllByUser(Long userId) {
+    public void streamAllByUser(Long userId, Consumer<ItemWithBookingsDto> consumer) {
         getUserOrThrow(userId);
-        List<Item> items = itemRepository.findByOwnerIdOrderById(userId);
-        Map<Long, ItemWithBookingsDto> itemDtos = new LinkedHashMap<>();
+        List<ItemDetailsDto> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<ItemDetailsDto> rows = itemRepository.streamDetailsByOwnerId(userId, LocalDateTime.now())) {
+            Iterator<ItemDetailsDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    convertToItemsWithBookings(chunk).forEach(consumer);
+                    chunk.clear();
+                }
+            }
+        }
+    }
 
-        for (Item item : items) {
-            ItemWithBookingsDto itemDto = convertToItemWithBookingsDto(item);
-            addBookingInfo(item, itemDto);
-            itemDtos.put(item.getId(), itemDto);
+    @Override
+    public ItemSearchPageDto search(String text, Integer from, Integer size) {
+        validateSearchPage(from, size);
+        if (text == null || text.isBlank()) {
+            return new ItemSearchPageDto(Collections.emptyList(), 0, true);
+        }
+        // shorter text cannot use the trigram lists and would scan the whole catalogue; /items/suggest serves it
+        if (text.length() < ItemSearchIndex.GRAM) {
+            throw new BadRequestException("Search text must be at least " + ItemSearchIndex.GRAM
+                    + " characters; use /items/suggest for shorter prefixes");
         }
 
-        addCommentsInfo(itemDtos);
-        return new ArrayList<>(itemDtos.values());
+        if (!itemSearchIndex.isReady()) {
+            List<ItemDto> items = itemRepository.searchAvailableItems(text, OffsetPageRequest.of(from, size)).stream()
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList());
+            // without the index only a lower bound is known when the page is full
+            return new ItemSearchPageDto(items, from + items.size(), items.size() < size);
+        }
+        return itemSearchCache.get(text, from, size, () -> itemSearchIndex.search(text, from, size));
     }
 
     @Override
-    public List<ItemDto> search(String text) {
-        if (text == null || text.isBlank()) {
+    public List<String> suggest(String prefix, Integer limit) {
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit parameter must be from 1 to " + MAX_SUGGESTIONS);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        return itemNameSuggester.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<AvailabilityIntervalDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        // free time in the past cannot be booked, so the window never starts before now
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime end = to == null ? start.plus(DEFAULT_AVAILABILITY_WINDOW) : to;
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("Availability window must end after it starts and not in the past");
+        }
+        if (end.isAfter(start.plus(MAX_AVAILABILITY_WINDOW))) {
+            throw new BadRequestException("Availability window cannot exceed " + MAX_AVAILABILITY_WINDOW.toDays() + " days");
+        }
+
+        ItemAvailabilityCache.Snapshot snapshot = itemAvailabilityCache.get(itemId, () -> loadAvailability(itemId, now));
+        if (!snapshot.available()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.searchAvailableItems(text).stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = start;
+        for (BookingIntervalDto busy : snapshot.busy()) {
+            if (!busy.getStart().isBefore(end)) {
+                break;
+            }
+            if (busy.getStart().isAfter(cursor)) {
+                free.add(new AvailabilityIntervalDto(cursor, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(cursor)) {
+                cursor = busy.getEnd();
+            }
+        }
+        if (cursor.isBefore(end)) {
+            free.add(new AvailabilityIntervalDto(cursor, end));
+        }
+        return free;
     }
 
     @Override
@@ -137,26 +300,44 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        itemRepository.addComment(itemId, savedComment.getCreated());
         log.info("Added comment with ID: {} to item ID: {}", savedComment.getId(), itemId);
 
         return commentMapper.toCommentDto(savedComment);
     }
 
-    private void validateCommentCreation(Long userId, Long itemId) {
-        log.info("Validating comment creation: user={}, item={}, time={}",
-                userId, itemId, LocalDateTime.now());
-
-        List<Booking> userBookings = bookingRepository.findByItemIdAndBookerIdAndEndIsBefore(
-                itemId, userId, LocalDateTime.now());
+    private ItemAvailabilityCache.Snapshot loadAvailability(Long itemId, LocalDateTime now) {
+        Item item = getItemOrThrow(itemId);
+        if (!item.getAvailable()) {
+            return new ItemAvailabilityCache.Snapshot(false, Collections.emptyList());
+        }
+        return new ItemAvailabilityCache.Snapshot(true,
+                bookingRepository.findIntervalsByItemIdAndStatusInAndEndIsAfter(itemId, BLOCKING_STATUSES, now));
+    }
 
-        log.info("Found {} bookings for validation", userBookings.size());
+    private void validateSearchPage(Integer from, Integer size) {
+        if (from < 0) {
+            throw new BadRequestException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("Size parameter must be from 1 to " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (from + size > MAX_SEARCH_WINDOW) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_SEARCH_WINDOW + " matches");
+        }
+    }
 
-        if (userBookings.isEmpty()) {
-            log.info("Validation FAILED: User cannot comment on this item");
+    private void validateCommentCreation(Long userId, Long itemId) {
+        if (!completedBookingIndex.hasCompletedBooking(itemId, userId)) {
+            log.debug("User ID: {} has no finished booking of item ID: {}", userId, itemId);
             throw new BadRequestException("User can only comment on items they have booked in the past");
         }
+    }
 
-        log.info("Validation PASSED: User can comment on this item");
+    private void notifyRequester(Item item, ItemDto itemDto) {
+        if (item.getRequest() != null) {
+            itemRequestEventHub.itemCreated(item.getRequest().getRequester().getId(), itemDto);
+        }
     }
 
     private void validateItemCreation(ItemDto itemDto, User owner) {
@@ -166,59 +347,44 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private ItemWithBookingsDto convertToItemWithBookingsDto(Item item) {
-        ItemWithBookingsDto dto = new ItemWithBookingsDto();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setDescription(item.getDescription());
-        dto.setAvailable(item.getAvailable());
-        dto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
-        return dto;
-    }
-
-    private void addBookingInfo(Item item, ItemWithBookingsDto itemDto) {
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Booking> lastBookings = bookingRepository.findByItemIdAndEndIsBeforeOrderByStartDesc(item.getId(), now);
-        if (!lastBookings.isEmpty()) {
-            itemDto.setLastBooking(convertToBookingShortDto(lastBookings.get(0)));
+    /**
+     * Attaches the newest {@link #EMBEDDED_COMMENTS} comments of each row's item with a single query, so the result
+     * stays within that many comments per row however many an item has.
+     */
+    private List<ItemWithBookingsDto> convertToItemsWithBookings(List<ItemDetailsDto> rows) {
+        Map<Long, ItemWithBookingsDto> itemDtos = new LinkedHashMap<>();
+        for (ItemDetailsDto row : rows) {
+            ItemWithBookingsDto itemDto = convertToItemWithBookingsDto(row, true);
+            itemDto.setComments(new ArrayList<>());
+            itemDtos.put(row.getId(), itemDto);
         }
-
-        List<Booking> nextBookings = bookingRepository.findByItemIdAndStartIsAfterOrderByStartDesc(item.getId(), now);
-        if (!nextBookings.isEmpty()) {
-            itemDto.setNextBooking(convertToBookingShortDto(nextBookings.get(0)));
+        if (!itemDtos.isEmpty()) {
+            for (CommentDto comment : commentRepository.findNewestDtosByItemIdIn(
+                    new ArrayList<>(itemDtos.keySet()), EMBEDDED_COMMENTS)) {
+                itemDtos.get(comment.getItemId()).getComments().add(comment);
+            }
         }
+        return new ArrayList<>(itemDtos.values());
     }
 
-    private BookingShortDto convertToBookingShortDto(Booking booking) {
-        return new BookingShortDto(
-                booking.getId(),
-                booking.getBooker().getId(),
-                booking.getStart(),
-                booking.getEnd()
-        );
-    }
-
-    private void addCommentsInfo(Item item, ItemWithBookingsDto itemDto) {
-        List<Comment> comments = commentRepository.findByItemId(item.getId());
-        itemDto.setComments(comments.stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList()));
-    }
-
-    private void addCommentsInfo(Map<Long, ItemWithBookingsDto> itemDtos) {
-        List<Long> itemIds = new ArrayList<>(itemDtos.keySet());
-        List<Comment> comments = commentRepository.findByItemIdIn(itemIds);
-
-        Map<Long, List<CommentDto>> commentsByItem = comments.stream()
-                .collect(Collectors.groupingBy(
-                        comment -> comment.getItem().getId(),
-                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())
-                ));
-
-        itemDtos.forEach((itemId, itemDto) -> {
-            itemDto.setComments(commentsByItem.getOrDefault(itemId, Collections.emptyList()));
-        });
+    private ItemWithBookingsDto convertToItemWithBookingsDto(ItemDetailsDto details, boolean withBookings) {
+        ItemWithBookingsDto itemDto = new ItemWithBookingsDto();
+        itemDto.setId(details.getId());
+        itemDto.setName(details.getName());
+        itemDto.setDescription(details.getDescription());
+        itemDto.setAvailable(details.getAvailable());
+        itemDto.setRequestId(details.getRequestId());
+        itemDto.setCommentsCount(details.getCommentsCount());
+        itemDto.setLastCommentedAt(details.getLastCommentedAt());
+        if (withBookings && details.getLastBookingId() != null) {
+            itemDto.setLastBooking(new BookingShortDto(details.getLastBookingId(), details.getLastBookerId(),
+                    details.getLastStart(), details.getLastEnd()));
+        }
+        if (withBookings && details.getNextBookingId() != null) {
+            itemDto.setNextBooking(new BookingShortDto(details.getNextBookingId(), details.getNextBookerId(),
+                    details.getNextStart(), details.getNextEnd()));
+        }
+        return itemDto;
     }
 
     private User getUserOrThrow(Long userId) {
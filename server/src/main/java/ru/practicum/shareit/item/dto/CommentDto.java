@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 public class CommentDto {
     private Long id;
     private String text;
+    private Long itemId;
     private String authorName;
     private LocalDateTime created;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row of an item with its owner and its last and next bookings, loaded in one statement.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDetailsDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private Long ownerId;
+    private Long requestId;
+    private Integer commentsCount;
+    private LocalDateTime lastCommentedAt;
+    private Long lastBookingId;
+    private Long lastBookerId;
+    private LocalDateTime lastStart;
+    private LocalDateTime lastEnd;
+    private Long nextBookingId;
+    private Long nextBookerId;
+    private LocalDateTime nextStart;
+    private LocalDateTime nextEnd;
+}
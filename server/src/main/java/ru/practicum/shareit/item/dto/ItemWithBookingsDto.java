@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -19,4 +20,6 @@ public class ItemWithBookingsDto {
     private BookingShortDto nextBooking;
     private List<CommentDto> comments;
     private Long requestId;
+    private Integer commentsCount;
+    private LocalDateTime lastCommentedAt;
 }
\ No newline at end of file
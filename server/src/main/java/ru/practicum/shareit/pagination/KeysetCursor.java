@@ -0,0 +1,38 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a listing ordered by (timestamp DESC, id DESC): the row after the cursor
+ * is the first one strictly older than it, ties broken by a smaller id. Queries bound the scan with
+ * {@code timestamp <= :t AND (timestamp < :t OR id < :id)} so the index range starts at the cursor;
+ * first pages pass {@link #FIRST}, which sorts before every stored row, instead of a null cursor.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = ",";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
@@ -13,6 +16,8 @@ import java.util.List;
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 public class ItemRequestController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemRequestService itemRequestService;
 
     @PostMapping
@@ -23,17 +28,40 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Getting own item requests for user ID: {}", userId);
-        return itemRequestService.getOwnRequests(userId);
+    public List<ItemRequestDto> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestParam(defaultValue = "0") Integer from,
+                                               @RequestParam(defaultValue = "10") Integer size,
+                                               @RequestParam(defaultValue = "false") Boolean itemCounts) {
+        log.info("Getting own item requests for user ID: {}, from: {}, size: {}", userId, from, size);
+        return itemRequestService.getOwnRequests(userId, from, size, itemCounts);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getOtherUsersRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<ItemRequestDto>> getOtherUsersRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
         log.info("Getting other users' item requests for user ID: {}", userId);
-        return itemRequestService.getOtherUsersRequests(userId, from, size);
+        List<ItemRequestDto> requests = after != null
+                ? itemRequestService.getOtherUsersRequestsAfter(userId, after, size)
+                : itemRequestService.getOtherUsersRequests(userId, from, size);
+        if (requests.isEmpty() || requests.size() < size) {
+            return ResponseEntity.ok(requests);
+        }
+        ItemRequestDto last = requests.get(requests.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getCreated(), last.getId()).encode())
+                .body(requests);
+    }
+
+    /**
+     * Streams an event for every item created in answer to the user's requests while the stream is open.
+     */
+    @GetMapping("/events")
+    public SseEmitter subscribe(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Subscribing user ID: {} to item request events", userId);
+        return itemRequestService.subscribe(userId);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,190 @@
+package ru.practicum.shareit.request;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes items created for a user's requests to that user's open event streams. Subscriptions live only in
+ * memory and are bounded in total and per user, so an idle subscriber costs a map entry and a heartbeat but
+ * never a query. Events leave after the creating transaction commits, from one sender thread with a bounded
+ * backlog: a slow client cannot hold up item creation, and when the backlog is full new events are dropped.
+ */
+@Slf4j
+@Component
+public class ItemRequestEventHub {
+    static final String ITEM_EVENT = "item";
+    static final int MAX_SUBSCRIBERS = 10_000;
+    static final int MAX_SUBSCRIPTIONS_PER_USER = 4;
+    static final int MAX_PENDING_EVENTS = 10_000;
+    static final long TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    // well below the idle timeouts of proxies in front of the stream, the gateway included
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+
+    private final Map<Long, Deque<SseEmitter>> subscribers = new HashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-request-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int subscriberCount;
+
+    public ItemRequestEventHub() {
+        long interval = HEARTBEAT_INTERVAL.toMillis();
+        sender.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return register(userId, new SseEmitter(TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Queues the item for the requester's streams once the transaction that created it commits.
+     */
+    public void itemCreated(Long requesterId, ItemDto item) {
+        afterCommit(() -> {
+            List<SseEmitter> emitters = emittersOf(requesterId);
+            if (!emitters.isEmpty()) {
+                enqueue(() -> emitters.forEach(emitter -> send(requesterId, emitter, SseEmitter.event()
+                        .name(ITEM_EVENT)
+                        .id(String.valueOf(item.getId()))
+                        .data(item))));
+            }
+        });
+    }
+
+    /**
+     * Adds the emitter to the user's streams, closing the user's oldest stream when over the per-user bound.
+     */
+    SseEmitter register(Long userId, SseEmitter emitter) {
+        SseEmitter evicted = null;
+        synchronized (this) {
+            Deque<SseEmitter> own = subscribers.computeIfAbsent(userId, id -> new ArrayDeque<>());
+            if (own.size() >= MAX_SUBSCRIPTIONS_PER_USER) {
+                evicted = own.pollFirst();
+                subscriberCount--;
+            } else if (subscriberCount >= MAX_SUBSCRIBERS) {
+                if (own.isEmpty()) {
+                    subscribers.remove(userId);
+                }
+                throw new ServiceUnavailableException("Too many open event streams, try again later");
+            }
+            own.addLast(emitter);
+            subscriberCount++;
+        }
+        if (evicted != null) {
+            evicted.complete();
+        }
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(() -> unregister(userId, emitter));
+        emitter.onError(error -> unregister(userId, emitter));
+        log.debug("User ID: {} subscribed to request events", userId);
+        return emitter;
+    }
+
+    synchronized int size() {
+        return subscriberCount;
+    }
+
+    /**
+     * Waits until everything queued so far has been sent; the sender runs tasks in order on one thread.
+     */
+    void awaitSent() throws InterruptedException, ExecutionException {
+        sender.submit(() -> { }).get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        List<SseEmitter> open = new ArrayList<>();
+        synchronized (this) {
+            subscribers.values().forEach(open::addAll);
+            subscribers.clear();
+            subscriberCount = 0;
+        }
+        open.forEach(SseEmitter::complete);
+    }
+
+    private synchronized void unregister(Long userId, SseEmitter emitter) {
+        Deque<SseEmitter> own = subscribers.get(userId);
+        if (own != null && own.remove(emitter)) {
+            subscriberCount--;
+            if (own.isEmpty()) {
+                subscribers.remove(userId);
+            }
+        }
+    }
+
+    private synchronized List<SseEmitter> emittersOf(Long userId) {
+        Deque<SseEmitter> own = subscribers.get(userId);
+        return own == null ? List.of() : new ArrayList<>(own);
+    }
+
+    private void sendHeartbeats() {
+        Map<Long, List<SseEmitter>> open = new HashMap<>();
+        synchronized (this) {
+            subscribers.forEach((userId, own) -> open.put(userId, new ArrayList<>(own)));
+        }
+        open.forEach((userId, emitters) ->
+                emitters.forEach(emitter -> send(userId, emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // the client went away; the container completes the emitter, which is dropped here already
+            unregister(userId, emitter);
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        if (pending.incrementAndGet() > MAX_PENDING_EVENTS) {
+            pending.decrementAndGet();
+            log.warn("Dropped a request event: {} events are waiting to be sent", MAX_PENDING_EVENTS);
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
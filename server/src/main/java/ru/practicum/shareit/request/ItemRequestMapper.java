@@ -12,6 +12,7 @@ public interface ItemRequestMapper {
     @Mapping(target = "description", source = "description")
     @Mapping(target = "created", source = "created")
     @Mapping(target = "items", ignore = true)
+    @Mapping(target = "itemCount", ignore = true)
     ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
 
     @Mapping(target = "id", source = "id")
@@ -7,12 +7,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
+    List<ItemRequest> findByRequesterIdOrderByCreatedDescIdDesc(Long requesterId, Pageable pageable);
 
-    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requester.id <> :userId ORDER BY ir.created DESC")
-    List<ItemRequest> findAllByOtherUsers(@Param("userId") Long userId, Pageable pageable);
+    // the first conjunct is the index bound; the second only settles ties on created
+    String AFTER_CURSOR = "ir.created <= :cursorCreated AND (ir.created < :cursorCreated OR ir.id < :cursorId)";
+
+    // walks idx_requests_created newest first; the requester filter only skips rows along the way
+    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requester.id <> :userId AND " + AFTER_CURSOR +
+            " ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findAllByOtherUsers(@Param("userId") Long userId,
+                                          @Param("cursorCreated") LocalDateTime cursorCreated,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
@@ -8,9 +9,23 @@ import java.util.List;
 public interface ItemRequestService {
     ItemRequestDto create(Long userId, ItemRequestRequestDto itemRequestRequestDto);
 
-    List<ItemRequestDto> getOwnRequests(Long userId);
+    /**
+     * Returns a page of the user's requests, newest first. With item counts only the number of items
+     * answering each request is filled in, not the items themselves.
+     */
+    List<ItemRequestDto> getOwnRequests(Long userId, Integer from, Integer size, boolean itemCounts);
 
     List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size);
 
+    /**
+     * Returns the next page of other users' requests, newest first, strictly after the given cursor.
+     */
+    List<ItemRequestDto> getOtherUsersRequestsAfter(Long userId, String after, Integer size);
+
     ItemRequestDto getById(Long userId, Long requestId);
+
+    /**
+     * Opens a stream of the items created for the user's requests from now on.
+     */
+    SseEmitter subscribe(Long userId);
 }
\ No newline at end of file
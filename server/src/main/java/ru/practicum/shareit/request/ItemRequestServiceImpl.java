@@ -2,16 +2,19 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
+import ru.practicum.shareit.request.dto.RequestItemCountDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
@@ -27,10 +30,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
+    static final int MAX_OWN_PAGE_SIZE = 100;
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
+    private final ItemRequestEventHub itemRequestEventHub;
 
     @Override
     @Transactional
@@ -49,10 +55,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getOwnRequests(Long userId) {
+    public List<ItemRequestDto> getOwnRequests(Long userId, Integer from, Integer size, boolean itemCounts) {
+        validatePagination(from, size);
+        if (size > MAX_OWN_PAGE_SIZE) {
+            throw new BadRequestException("Size parameter must be from 1 to " + MAX_OWN_PAGE_SIZE);
+        }
         getUserOrThrow(userId);
-        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdOrderByCreatedDesc(userId);
-        return convertToDtosWithItems(requests);
+        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdOrderByCreatedDescIdDesc(userId,
+                OffsetPageRequest.of(from, size));
+        return itemCounts ? convertToDtosWithItemCounts(requests) : convertToDtosWithItems(requests);
     }
 
     @Override
@@ -60,8 +71,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         getUserOrThrow(userId);
         validatePagination(from, size);
 
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<ItemRequest> requests = itemRequestRepository.findAllByOtherUsers(userId, pageable);
+        List<ItemRequest> requests = itemRequestRepository.findAllByOtherUsers(userId,
+                KeysetCursor.FIRST.timestamp(), KeysetCursor.FIRST.id(), OffsetPageRequest.of(from, size));
+
+        return convertToDtosWithItems(requests);
+    }
+
+    @Override
+    public List<ItemRequestDto> getOtherUsersRequestsAfter(Long userId, String after, Integer size) {
+        validatePagination(0, size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        getUserOrThrow(userId);
+
+        List<ItemRequest> requests = itemRequestRepository.findAllByOtherUsers(userId, cursor.timestamp(),
+                cursor.id(), OffsetPageRequest.of(0, size));
 
         return convertToDtosWithItems(requests);
     }
@@ -75,10 +98,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return convertToDtoWithItems(itemRequest);
     }
 
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        getUserOrThrow(userId);
+        return itemRequestEventHub.subscribe(userId);
+    }
+
     private ItemRequestDto convertToDtoWithItems(ItemRequest itemRequest) {
         ItemRequestDto dto = itemRequestMapper.toItemRequestDto(itemRequest);
         List<Item> items = itemRepository.findByRequestId(itemRequest.getId());
         dto.setItems(items.stream().map(this::convertToItemDto).collect(Collectors.toList()));
+        dto.setItemCount(items.size());
         return dto;
     }
 
@@ -107,6 +137,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                             .map(this::convertToItemDto)
                             .collect(Collectors.toList());
                     dto.setItems(itemDtos);
+                    dto.setItemCount(itemDtos.size());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemRequestDto> convertToDtosWithItemCounts(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, Long> counts = itemRepository.countByRequestIdIn(requestIds).stream()
+                .collect(Collectors.toMap(RequestItemCountDto::getRequestId, RequestItemCountDto::getItemCount));
+
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestDto dto = itemRequestMapper.toItemRequestDto(request);
+                    dto.setItemCount(counts.getOrDefault(request.getId(), 0L).intValue());
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -124,10 +175,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private void validatePagination(Integer from, Integer size) {
         if (from < 0) {
-            throw new IllegalArgumentException("From parameter cannot be negative");
+            throw new BadRequestException("From parameter cannot be negative");
         }
         if (size <= 0) {
-            throw new IllegalArgumentException("Size parameter must be positive");
+            throw new BadRequestException("Size parameter must be positive");
         }
     }
 
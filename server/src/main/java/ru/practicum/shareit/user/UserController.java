@@ -1,10 +1,16 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -13,6 +19,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto create(@RequestBody UserDto userDto) {
@@ -33,9 +40,30 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAll() {
-        log.info("Getting all users");
-        return userService.getAll();
+    public List<UserDto> getAll(@RequestParam(defaultValue = "0") Integer from,
+                                @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Getting users from: {}, size: {}", from, size);
+        return userService.getAll(from, size);
+    }
+
+    /**
+     * Writes every user as one JSON array while the rows are read through a database cursor.
+     */
+    @GetMapping("/stream")
+    public void streamAll(HttpServletResponse response) throws IOException {
+        log.info("Streaming all users");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+        userService.streamAll(user -> {
+            try {
+                generator.writeObject(user);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.close();
     }
 
     @DeleteMapping("/{userId}")
@@ -1,9 +1,27 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String USER_DTO = "SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) FROM User u ";
+
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query(USER_DTO + "ORDER BY u.id")
+    List<UserDto> findAllDtos(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_DTO + "ORDER BY u.id")
+    Stream<UserDto> streamAllDtos();
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -11,7 +12,9 @@ public interface UserService {
 
     UserDto getById(Long userId);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(Integer from, Integer size);
+
+    void streamAll(Consumer<UserDto> consumer);
 
     void delete(Long userId);
 }
\ No newline at end of file
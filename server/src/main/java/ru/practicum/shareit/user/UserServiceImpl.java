@@ -4,18 +4,23 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
@@ -59,10 +64,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getAll() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toUserDto)
-                .collect(Collectors.toList());
+    public List<UserDto> getAll(Integer from, Integer size) {
+        if (from < 0) {
+            throw new BadRequestException("From parameter cannot be negative");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size parameter must be from 1 to " + MAX_PAGE_SIZE);
+        }
+        return userRepository.findAllDtos(OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        try (Stream<UserDto> users = userRepository.streamAllDtos()) {
+            users.forEach(consumer);
+        }
     }
 
     @Override
@@ -0,0 +1,20 @@
+-- booker listings: ALL/CURRENT/PAST/FUTURE walk the booker's rows newest first
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+-- booker listings filtered by WAITING/REJECTED
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+-- owner listings (joined through items) and per-item last/next lookups
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+-- finished bookings of an item, optionally by a given booker (comment eligibility)
+CREATE INDEX idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+
+CREATE INDEX idx_items_owner ON items (owner_id, id);
+CREATE INDEX idx_items_request ON items (request_id) WHERE request_id IS NOT NULL;
+
+CREATE INDEX idx_comments_item ON comments (item_id, created);
+
+CREATE INDEX idx_requests_requester_created ON requests (requester_id, created DESC);
+CREATE INDEX idx_requests_created ON requests (created DESC, id DESC);
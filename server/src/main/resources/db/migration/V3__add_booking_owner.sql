@@ -0,0 +1,22 @@
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT REFERENCES users (id) ON DELETE CASCADE;
+
+UPDATE bookings b SET owner_id = i.owner_id FROM items i WHERE i.id = b.item_id;
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+-- owner listings now range-scan bookings directly instead of joining through items
+CREATE INDEX idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_owner_status_start ON bookings (owner_id, status, start_date DESC, id DESC);
+
+CREATE FUNCTION sync_booking_owner() RETURNS trigger AS $$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_items_owner_changed
+    AFTER UPDATE OF owner_id ON items
+    FOR EACH ROW
+    WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+    EXECUTE FUNCTION sync_booking_owner();
@@ -0,0 +1,7 @@
+-- 'simple' keeps words as typed (lower-cased, no stemming): item texts mix Russian and English,
+-- and search matches word prefixes instead of relying on a language-specific stemmer
+ALTER TABLE items ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', name), 'A') || setweight(to_tsvector('simple', description), 'B')
+) STORED;
+
+CREATE INDEX idx_items_search_vector ON items USING GIN (search_vector);
@@ -0,0 +1,12 @@
+-- kept by the application on every new comment so item views never count comment rows
+ALTER TABLE items ADD COLUMN comments_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN last_commented_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE items i
+SET comments_count = c.total, last_commented_at = c.latest
+FROM (SELECT item_id, COUNT(*) AS total, MAX(created) AS latest FROM comments GROUP BY item_id) c
+WHERE c.item_id = i.id;
+
+-- comment pages and the newest comments of an item seek on (created, id) newest first
+DROP INDEX idx_comments_item;
+CREATE INDEX idx_comments_item_created ON comments (item_id, created DESC, id DESC);
@@ -0,0 +1,3 @@
+-- own request pages order by (created, id) newest first; with id in the index the page needs no sort
+DROP INDEX idx_requests_requester_created;
+CREATE INDEX idx_requests_requester_created ON requests (requester_id, created DESC, id DESC);
@@ -0,0 +1,15 @@
+-- active bookings of an item never overlap; this is the source of truth behind the in-memory interval index.
+-- Databases baselined at V1 get it here too; ones created from an earlier V1 that carried it already have it.
+-- Overlapping WAITING/APPROVED rows make this fail and have to be resolved before migrating.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_booking_item_period') THEN
+        ALTER TABLE bookings ADD CONSTRAINT ex_booking_item_period EXCLUDE USING gist (
+            item_id WITH =,
+            tsrange(start_date, end_date) WITH &&
+        ) WHERE (status IN ('WAITING', 'APPROVED'));
+    END IF;
+END;
+$$;
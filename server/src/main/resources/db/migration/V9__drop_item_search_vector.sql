@@ -0,0 +1,4 @@
+-- item search is served by the in-memory trigram index; the full-text column was only a startup fallback
+-- with different (word-prefix) matching, and every item write paid for keeping it up to date
+DROP INDEX idx_items_search_vector;
+ALTER TABLE items DROP COLUMN search_vector;
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingOverlapBenchmarkTest extends PostgresBenchmark {
+    private static final int ITEMS = 1_000;
+    private static final int BOOKINGS_PER_ITEM = 1_000;
+    private static final int QUERIES = 20_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private static final String NAIVE_SQL = "SELECT EXISTS (SELECT 1 FROM bookings WHERE item_id = ? " +
+            "AND status IN ('WAITING', 'APPROVED') AND end_date > ? AND start_date < ?)";
+    private static final String RANGE_SQL = "SELECT EXISTS (SELECT 1 FROM bookings WHERE item_id = ? " +
+            "AND status IN ('WAITING', 'APPROVED') AND tsrange(start_date, end_date) && tsrange(?, ?))";
+
+    private static BookingIntervalIndex index;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connect()) {
+            execute(connection, "INSERT INTO users (id, name, email) " +
+                    "SELECT g, 'user' || g, 'user' || g || '@mail.com' FROM generate_series(1, 2) g");
+            execute(connection, "INSERT INTO items (id, name, description, is_available, owner_id) " +
+                    "SELECT g, 'item' || g, 'description', true, 1 FROM generate_series(1, " + ITEMS + ") g");
+            execute(connection, "INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                    "SELECT TIMESTAMP '" + Timestamp.valueOf(EPOCH) + "' + s * INTERVAL '2 hours', " +
+                    "TIMESTAMP '" + Timestamp.valueOf(EPOCH) + "' + s * INTERVAL '2 hours' + INTERVAL '1 hour', " +
+                    "i, 2, 1, 'APPROVED' FROM generate_series(1, " + ITEMS + ") i, " +
+                    "generate_series(0, " + (BOOKINGS_PER_ITEM - 1) + ") s");
+            execute(connection, "ANALYZE bookings");
+
+            index = new BookingIntervalIndex(null);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, item_id, start_date, end_date FROM bookings");
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    index.add(new BookingIntervalDto(rs.getLong(1), rs.getLong(2),
+                            rs.getTimestamp(3).toLocalDateTime(), rs.getTimestamp(4).toLocalDateTime()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void compareIndexWithSqlOverlapQuery() throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement naive = connection.prepareStatement(NAIVE_SQL);
+             PreparedStatement range = connection.prepareStatement(RANGE_SQL)) {
+            long indexNanos = measureNanos(QUERIES, i -> {
+                LocalDateTime start = randomStart();
+                index.overlaps(randomItem(), start, start.plusMinutes(90));
+            });
+            long naiveNanos = measureNanos(QUERIES, i -> exists(naive, randomItem(), randomStart()));
+            long rangeNanos = measureNanos(QUERIES, i -> exists(range, randomItem(), randomStart()));
+
+            report("In-memory interval index, " + ITEMS * BOOKINGS_PER_ITEM + " bookings", indexNanos);
+            report("SQL overlap on start_date/end_date", naiveNanos);
+            report("SQL overlap on tsrange (exclusion constraint index)", rangeNanos);
+
+            for (int i = 0; i < 1_000; i++) {
+                long itemId = randomItem();
+                LocalDateTime start = randomStart();
+                assertEquals(exists(naive, itemId, start), index.overlaps(itemId, start, start.plusMinutes(90)));
+            }
+        }
+    }
+
+    private static boolean exists(PreparedStatement statement, long itemId, LocalDateTime start) throws SQLException {
+        statement.setLong(1, itemId);
+        statement.setTimestamp(2, Timestamp.valueOf(start));
+        statement.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(90)));
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static long randomItem() {
+        return ThreadLocalRandom.current().nextLong(1, ITEMS + 1);
+    }
+
+    private static LocalDateTime randomStart() {
+        return EPOCH.plusMinutes(ThreadLocalRandom.current().nextLong(0, BOOKINGS_PER_ITEM * 120L));
+    }
+}
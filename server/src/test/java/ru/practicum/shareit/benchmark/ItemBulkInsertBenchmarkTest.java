@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemBulkInsertBenchmarkTest extends PostgresBenchmark {
+    private static final int SINGLE_INSERTS = 2_000;
+    private static final int BATCHES = 20;
+    private static final int BATCH_SIZE = 1_000;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> "false");
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+    }
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void compareSingleAndBatchedItemInserts() {
+        Long ownerId = userService.create(new UserDto(null, "Owner", "owner@mail.com")).getId();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_INSERTS; i++) {
+            itemService.create(ownerId, item(i));
+        }
+        long singleNanos = (System.nanoTime() - started) / SINGLE_INSERTS;
+
+        List<ItemDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(item(i));
+        }
+        started = System.nanoTime();
+        for (int i = 0; i < BATCHES; i++) {
+            itemService.createAll(ownerId, batch);
+        }
+        long batchedNanos = (System.nanoTime() - started) / (BATCHES * BATCH_SIZE);
+
+        report("POST /items, one row per transaction (" + 1_000_000_000L / singleNanos + " items/s)", singleNanos);
+        report("POST /items/batch, " + BATCH_SIZE + " rows per transaction ("
+                + 1_000_000_000L / batchedNanos + " items/s)", batchedNanos);
+        assertEquals(SINGLE_INSERTS + BATCHES * BATCH_SIZE, itemRepository.count());
+    }
+
+    private static ItemDto item(int i) {
+        return new ItemDto(null, "Item " + i, "Bulk imported item " + i, true, null);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchBenchmarkTest extends PostgresBenchmark {
+    private static final int ITEMS = 1_000_000;
+    private static final int LIKE_QUERIES = 20;
+    private static final int INDEX_QUERIES = 500;
+
+    private static final String LIKE_SQL = "SELECT i.id FROM items i WHERE i.is_available = true AND " +
+            "(LOWER(i.name) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?, '%'))) " +
+            "ORDER BY i.id";
+
+    private static ItemSearchIndex index;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connect()) {
+            execute(connection, "INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.com')");
+            // ten tool kinds, every item numbered; a tool kind in the description is a weaker match than in the name
+            execute(connection, "INSERT INTO items (id, name, description, is_available, owner_id) " +
+                    "SELECT g, (ARRAY['drill','saw','hammer','ladder','tent','kayak','tripod','projector','grill','mixer'])" +
+                    "[g % 10 + 1] || ' ' || g, 'spare part for ' || " +
+                    "(ARRAY['saw','hammer','ladder','tent','kayak','tripod','projector','grill','mixer','drill'])" +
+                    "[g % 10 + 1], g % 7 <> 0, 1 FROM generate_series(1, " + ITEMS + ") g");
+            execute(connection, "ANALYZE");
+
+            ItemRepository repository = mock(ItemRepository.class);
+            when(repository.findAvailableForSearch()).thenReturn(loadAvailable(connection));
+            index = new ItemSearchIndex(repository);
+            index.rebuild();
+        }
+    }
+
+    @Test
+    void compareLikeScanAndTrigramIndex() throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement like = connection.prepareStatement(LIKE_SQL)) {
+            long likeNanos = measureNanos(LIKE_QUERIES, i -> like(like, "424243"));
+            long indexNanos = measureNanos(INDEX_QUERIES, i -> index.search("424243", 0, 10));
+            report("Search for a rare substring over " + ITEMS + " items, LIKE scan", likeNanos);
+            report("Search for a rare substring over " + ITEMS + " items, trigram index", indexNanos);
+
+            likeNanos = measureNanos(LIKE_QUERIES, i -> like(like, "kayak 1234"));
+            indexNanos = measureNanos(INDEX_QUERIES, i -> index.search("kayak 1234", 0, 10));
+            report("Search for a phrase over " + ITEMS + " items, LIKE scan", likeNanos);
+            report("Search for a phrase over " + ITEMS + " items, trigram index", indexNanos);
+
+            // both paths match the same substrings, so results do not change once the index is ready
+            assertEquals(like(like, "424243"), indexed("424243"));
+            assertEquals(like(like, "kayak 1234"), indexed("kayak 1234"));
+            List<ItemDto> ranked = index.search("kayak", 0, 10).getItems();
+            assertTrue(ranked.get(0).getName().startsWith("kayak "), "Name matches should rank first: " + ranked.get(0));
+        }
+    }
+
+    private static List<ItemDto> loadAvailable(Connection connection) throws SQLException {
+        List<ItemDto> items = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT id, name, description FROM items WHERE is_available = true ORDER BY id")) {
+            while (rs.next()) {
+                items.add(new ItemDto(rs.getLong(1), rs.getString(2), rs.getString(3), true, null));
+            }
+        }
+        return items;
+    }
+
+    private static List<Long> indexed(String text) {
+        return index.search(text, 0, 1000).getItems().stream().map(ItemDto::getId).sorted().toList();
+    }
+
+    private static List<Long> like(PreparedStatement statement, String text) throws SQLException {
+        statement.setString(1, text);
+        statement.setString(2, text);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
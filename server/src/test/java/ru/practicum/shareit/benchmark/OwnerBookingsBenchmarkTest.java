@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OwnerBookingsBenchmarkTest extends PostgresBenchmark {
+    private static final int OWNERS = 4;
+    private static final int ITEMS_PER_OWNER = 1_000;
+    private static final int BOOKINGS_PER_ITEM = 100;
+    private static final int BOOKER_ID = OWNERS + 1;
+    private static final int PAGE_SIZE = 10;
+    private static final int QUERIES = 2_000;
+
+    private static final String SELECT = "SELECT b.id, b.start_date, b.end_date, b.status, " +
+            "i.id, i.name, i.description, i.is_available, u.id, u.name, u.email " +
+            "FROM bookings b JOIN items i ON i.id = b.item_id JOIN users u ON u.id = b.booker_id ";
+    private static final String PAGE = " ORDER BY b.start_date DESC, b.id DESC OFFSET ? LIMIT " + PAGE_SIZE;
+    private static final String JOINED_OWNER_SQL = SELECT + "WHERE i.owner_id = ?" + PAGE;
+    private static final String DENORMALIZED_OWNER_SQL = SELECT + "WHERE b.owner_id = ?" + PAGE;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connect()) {
+            execute(connection, "INSERT INTO users (id, name, email) " +
+                    "SELECT g, 'user' || g, 'user' || g || '@mail.com' FROM generate_series(1, " + BOOKER_ID + ") g");
+            execute(connection, "INSERT INTO items (name, description, is_available, owner_id) " +
+                    "SELECT 'item' || g, 'description', true, (g - 1) / " + ITEMS_PER_OWNER + " + 1 " +
+                    "FROM generate_series(1, " + OWNERS * ITEMS_PER_OWNER + ") g");
+            execute(connection, "INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                    "SELECT localtimestamp + s * INTERVAL '1 day', localtimestamp + s * INTERVAL '1 day' " +
+                    "+ INTERVAL '1 hour', i.id, " + BOOKER_ID + ", i.owner_id, 'APPROVED' " +
+                    "FROM items i, generate_series(0, " + (BOOKINGS_PER_ITEM - 1) + ") s");
+            execute(connection, "ANALYZE");
+        }
+    }
+
+    @Test
+    void compareJoinedAndDenormalizedOwnerListing() throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement joined = connection.prepareStatement(JOINED_OWNER_SQL);
+             PreparedStatement denormalized = connection.prepareStatement(DENORMALIZED_OWNER_SQL)) {
+            for (int offset : new int[]{0, 1_000}) {
+                long joinedNanos = measureNanos(QUERIES, i -> page(joined, randomOwner(), offset));
+                long denormalizedNanos = measureNanos(QUERIES, i -> page(denormalized, randomOwner(), offset));
+
+                String label = ", " + ITEMS_PER_OWNER * BOOKINGS_PER_ITEM + " bookings per owner, offset " + offset;
+                report("Owner ALL through items join" + label, joinedNanos);
+                report("Owner ALL on bookings.owner_id" + label, denormalizedNanos);
+            }
+
+            for (int ownerId = 1; ownerId <= OWNERS; ownerId++) {
+                assertEquals(page(joined, ownerId, 0), page(denormalized, ownerId, 0));
+            }
+        }
+    }
+
+    private static List<Long> page(PreparedStatement statement, long ownerId, int offset) throws SQLException {
+        statement.setLong(1, ownerId);
+        statement.setInt(2, offset);
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static long randomOwner() {
+        return ThreadLocalRandom.current().nextLong(1, OWNERS + 1);
+    }
+}
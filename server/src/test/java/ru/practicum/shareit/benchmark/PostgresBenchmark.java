@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresBenchmark {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void createSchema() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    static long measureNanos(int iterations, BenchmarkTask task) throws Exception {
+        for (int i = 0; i < iterations / 10; i++) {
+            task.run(i);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run(i);
+        }
+        return (System.nanoTime() - started) / iterations;
+    }
+
+    static void report(String name, long nanosPerOperation) {
+        log.info("{}: {} us/op", name, String.format("%.2f", nanosPerOperation / 1000.0));
+    }
+
+    @FunctionalInterface
+    interface BenchmarkTask {
+        void run(int iteration) throws Exception;
+    }
+}
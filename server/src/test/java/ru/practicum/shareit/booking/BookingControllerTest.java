@@ -8,6 +8,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -87,6 +89,22 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("APPROVED"));
     }
 
+    @Test
+    void updateStatuses_shouldReturnResultPerDecision() throws Exception {
+        when(bookingService.updateStatuses(anyLong(), anyList())).thenReturn(List.of(
+                new BookingDecisionResultDto(1L, BookingStatus.APPROVED, null),
+                new BookingDecisionResultDto(2L, null, "Booking status is already decided")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("Booking status is already decided"));
+    }
+
     @Test
     void getById_shouldReturnBooking() throws Exception {
         when(bookingService.getById(anyLong(), anyLong())).thenReturn(bookingResponseDto);
@@ -149,4 +167,31 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBooker_shouldUseCursorAndReturnNextCursor() throws Exception {
+        when(bookingService.getAllByBookerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("after", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllByOwner_shouldOmitNextCursorOnLastPage() throws Exception {
+        when(bookingService.getAllByOwnerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "cursor")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void overlaps_shouldReturnFalseForUnknownItem() {
+        assertFalse(index.overlaps(1L, base, base.plusDays(1)));
+    }
+
+    @Test
+    void overlaps_shouldDetectIntersectingPeriods() {
+        index.add(new BookingIntervalDto(1L, 1L, base.plusDays(2), base.plusDays(4)));
+        index.add(new BookingIntervalDto(2L, 1L, base.plusDays(6), base.plusDays(8)));
+
+        assertTrue(index.overlaps(1L, base.plusDays(3), base.plusDays(5)));
+        assertTrue(index.overlaps(1L, base.plusDays(1), base.plusDays(3)));
+        assertTrue(index.overlaps(1L, base.plusDays(5), base.plusDays(7)));
+        assertTrue(index.overlaps(1L, base, base.plusDays(10)));
+    }
+
+    @Test
+    void overlaps_shouldTreatPeriodsAsHalfOpen() {
+        index.add(new BookingIntervalDto(1L, 1L, base.plusDays(2), base.plusDays(4)));
+
+        assertFalse(index.overlaps(1L, base, base.plusDays(2)));
+        assertFalse(index.overlaps(1L, base.plusDays(4), base.plusDays(6)));
+        assertFalse(index.overlaps(2L, base.plusDays(2), base.plusDays(4)));
+    }
+
+    @Test
+    void remove_shouldFreePeriod() {
+        BookingIntervalDto interval = new BookingIntervalDto(1L, 1L, base.plusDays(2), base.plusDays(4));
+        index.add(interval);
+
+        index.remove(interval);
+
+        assertFalse(index.overlaps(1L, base.plusDays(2), base.plusDays(4)));
+    }
+
+    @Test
+    void remove_shouldMatchReloadedStartWithRoundedPrecision() {
+        LocalDateTime start = base.plusDays(2).withNano(123_456_789);
+        index.add(new BookingIntervalDto(1L, 1L, start, base.plusDays(4)));
+        index.add(new BookingIntervalDto(2L, 1L, base.plusDays(4), base.plusDays(6)));
+
+        index.remove(new BookingIntervalDto(1L, 1L, start.withNano(123_457_000), base.plusDays(4)));
+
+        assertFalse(index.overlaps(1L, base.plusDays(2), base.plusDays(4)));
+        assertTrue(index.overlaps(1L, base.plusDays(4), base.plusDays(5)));
+    }
+
+    @Test
+    void remove_shouldKeepNeighbourWithOtherId() {
+        index.add(new BookingIntervalDto(1L, 1L, base.plusDays(2), base.plusDays(4)));
+
+        index.remove(new BookingIntervalDto(2L, 1L, base.plusDays(2), base.plusDays(4)));
+
+        assertTrue(index.overlaps(1L, base.plusDays(2), base.plusDays(4)));
+    }
+
+    @Test
+    void rebuild_shouldLoadActiveIntervals() {
+        when(bookingRepository.findIntervalsByStatusInAndEndIsAfter(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new BookingIntervalDto(1L, 1L, base.plusDays(2), base.plusDays(4))));
+
+        index.rebuild();
+
+        assertTrue(index.overlaps(1L, base.plusDays(3), base.plusDays(5)));
+    }
+}
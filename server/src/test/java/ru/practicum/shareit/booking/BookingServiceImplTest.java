@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingServiceImplTest {
+
+    @Test
+    void isPeriodOverlap_shouldRecognizeExclusionConstraintByName() {
+        SQLException sqlException = new SQLException("conflicting key value", "23000");
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException,
+                        BookingServiceImpl.PERIOD_CONSTRAINT));
+
+        assertTrue(BookingServiceImpl.isPeriodOverlap(e));
+    }
+
+    @Test
+    void isPeriodOverlap_shouldRecognizeExclusionViolationState() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+
+        assertTrue(BookingServiceImpl.isPeriodOverlap(e));
+    }
+
+    @Test
+    void isPeriodOverlap_shouldRejectOtherIntegrityViolations() {
+        SQLException foreignKey = new SQLException("violates foreign key constraint", "23503");
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", foreignKey,
+                        "bookings_item_id_fkey"));
+
+        assertFalse(BookingServiceImpl.isPeriodOverlap(e));
+        assertFalse(BookingServiceImpl.isPeriodOverlap(new DataIntegrityViolationException("not-null")));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompletedBookingIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private CompletedBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CompletedBookingIndex(bookingRepository);
+    }
+
+    @Test
+    void hasCompletedBooking_shouldRememberConfirmedPairs() {
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(eq(1L), eq(2L), any())).thenReturn(true);
+
+        assertTrue(index.hasCompletedBooking(1L, 2L));
+        assertTrue(index.hasCompletedBooking(1L, 2L));
+
+        verify(bookingRepository, times(1)).existsByItemIdAndBookerIdAndEndIsBefore(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void hasCompletedBooking_shouldAskAgainAfterNegativeAnswer() {
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(eq(1L), eq(2L), any()))
+                .thenReturn(false, true);
+
+        assertFalse(index.hasCompletedBooking(1L, 2L));
+        assertTrue(index.hasCompletedBooking(1L, 2L));
+        assertFalse(index.hasCompletedBooking(2L, 1L));
+    }
+
+    @Test
+    void hasCompletedBooking_shouldPromoteCreatedBookingsOnceTheyEnd() {
+        index.bookingCreated(1L, 2L, LocalDateTime.now().minusSeconds(1));
+        index.bookingCreated(3L, 2L, LocalDateTime.now().plusDays(1));
+
+        assertTrue(index.hasCompletedBooking(1L, 2L));
+        assertFalse(index.hasCompletedBooking(3L, 2L));
+
+        verify(bookingRepository, never()).existsByItemIdAndBookerIdAndEndIsBefore(eq(1L), anyLong(), any());
+    }
+
+    @Test
+    void bookingCreated_shouldQueueEachPairOnceUnderItsEarliestEnd() {
+        LocalDateTime end = LocalDateTime.now().plusDays(3);
+        for (int i = 0; i < 100; i++) {
+            index.bookingCreated(1L, 2L, end.plusDays(i));
+        }
+        assertEquals(1, index.pendingSize());
+
+        index.bookingCreated(1L, 2L, end.minusDays(1));
+        assertEquals(2, index.pendingSize());
+    }
+
+    @Test
+    void bookingCreated_shouldDrainFinishedBookings() {
+        index.bookingCreated(1L, 2L, LocalDateTime.now().minusSeconds(1));
+        index.bookingCreated(3L, 2L, LocalDateTime.now().minusSeconds(1));
+        index.bookingCreated(4L, 2L, LocalDateTime.now().plusDays(1));
+
+        assertEquals(1, index.pendingSize());
+        assertEquals(2, index.size());
+        index.bookingCreated(1L, 2L, LocalDateTime.now().plusDays(1));
+        assertEquals(1, index.pendingSize());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void hasCompletedBooking_shouldKeepPairsAcrossGrowth() {
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(anyLong(), anyLong(), any())).thenReturn(true);
+        for (long itemId = 1; itemId <= 5_000; itemId++) {
+            assertTrue(index.hasCompletedBooking(itemId, itemId % 7 + 1));
+        }
+        clearInvocations(bookingRepository);
+
+        for (long itemId = 1; itemId <= 5_000; itemId++) {
+            assertTrue(index.hasCompletedBooking(itemId, itemId % 7 + 1));
+        }
+
+        assertEquals(5_000, index.size());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void hasCompletedBooking_shouldAlwaysQueryIdsThatDoNotPack() {
+        long bigId = 1L << 40;
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndIsBefore(eq(bigId), eq(2L), any())).thenReturn(true);
+
+        assertTrue(index.hasCompletedBooking(bigId, 2L));
+        assertTrue(index.hasCompletedBooking(bigId, 2L));
+
+        verify(bookingRepository, times(2)).existsByItemIdAndBookerIdAndEndIsBefore(eq(bigId), eq(2L), any());
+        assertEquals(0, index.size());
+    }
+}
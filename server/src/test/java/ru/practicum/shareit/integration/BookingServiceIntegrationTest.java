@@ -1,5 +1,9 @@
 package ru.practicum.shareit.integration;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,18 +12,23 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +50,12 @@ class BookingServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User owner;
     private User booker;
     private Item item;
@@ -111,6 +126,38 @@ class BookingServiceIntegrationTest {
                 bookingService.create(bookerId, bookingRequest));
     }
 
+    @Test
+    void create_shouldThrowExceptionWhenPeriodOverlaps() {
+        BookingRequestDto bookingRequest = new BookingRequestDto();
+        bookingRequest.setItemId(item.getId());
+        bookingRequest.setStart(LocalDateTime.now().plusDays(1));
+        bookingRequest.setEnd(LocalDateTime.now().plusDays(3));
+        bookingService.create(booker.getId(), bookingRequest);
+
+        BookingRequestDto overlapping = new BookingRequestDto();
+        overlapping.setItemId(item.getId());
+        overlapping.setStart(LocalDateTime.now().plusDays(2));
+        overlapping.setEnd(LocalDateTime.now().plusDays(4));
+
+        Long bookerId = booker.getId();
+        assertThrows(ConflictException.class, () ->
+                bookingService.create(bookerId, overlapping));
+    }
+
+    @Test
+    void create_shouldAllowPeriodOfRejectedBooking() {
+        BookingRequestDto bookingRequest = new BookingRequestDto();
+        bookingRequest.setItemId(item.getId());
+        bookingRequest.setStart(LocalDateTime.now().plusDays(1));
+        bookingRequest.setEnd(LocalDateTime.now().plusDays(3));
+        BookingResponseDto rejected = bookingService.create(booker.getId(), bookingRequest);
+        bookingService.updateStatus(owner.getId(), rejected.getId(), false);
+
+        BookingResponseDto result = bookingService.create(booker.getId(), bookingRequest);
+
+        assertEquals(BookingStatus.WAITING, result.getStatus());
+    }
+
     @Test
     void updateStatus_shouldApproveBooking() {
         Booking booking = new Booking();
@@ -159,6 +206,50 @@ class BookingServiceIntegrationTest {
                 bookingService.updateStatus(bookerId, bookingId, true));
     }
 
+    @Test
+    void updateStatuses_shouldApplyDecisionsAndReportRefusals() {
+        Booking toApprove = createBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        Booking toReject = createBooking(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+        Booking decided = createBooking(LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6));
+        toApprove.setStatus(BookingStatus.WAITING);
+        toReject.setStatus(BookingStatus.WAITING);
+        entityManager.flush();
+
+        List<BookingDecisionResultDto> results = bookingService.updateStatuses(owner.getId(), List.of(
+                new BookingDecisionDto(toApprove.getId(), true),
+                new BookingDecisionDto(toReject.getId(), false),
+                new BookingDecisionDto(decided.getId(), false),
+                new BookingDecisionDto(999L, true)));
+        entityManager.clear();
+
+        assertEquals(4, results.size());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Booking status is already decided", results.get(2).getError());
+        assertEquals("Booking not found with ID: 999", results.get(3).getError());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(toApprove.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(toReject.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(decided.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateStatuses_shouldRefuseBookingsOfOtherOwners() {
+        Booking booking = createBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        booking.setStatus(BookingStatus.WAITING);
+        entityManager.flush();
+
+        List<BookingDecisionResultDto> results = bookingService.updateStatuses(
+                booker.getId(), List.of(new BookingDecisionDto(booking.getId(), true)));
+
+        assertNull(results.get(0).getStatus());
+        assertEquals("Only item owner can approve/reject booking", results.get(0).getError());
+    }
+
+    @Test
+    void updateStatuses_shouldRejectEmptyBatch() {
+        assertThrows(BadRequestException.class, () -> bookingService.updateStatuses(owner.getId(), List.of()));
+    }
+
     @Test
     void getById_shouldReturnBookingForBooker() {
         Booking booking = createBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
@@ -242,6 +333,111 @@ class BookingServiceIntegrationTest {
         assertEquals(booking.getId(), result.get(0).getId());
     }
 
+    @Test
+    void create_shouldStoreItemOwnerOnBooking() {
+        BookingRequestDto bookingRequest = new BookingRequestDto();
+        bookingRequest.setItemId(item.getId());
+        bookingRequest.setStart(LocalDateTime.now().plusDays(1));
+        bookingRequest.setEnd(LocalDateTime.now().plusDays(2));
+
+        BookingResponseDto result = bookingService.create(booker.getId(), bookingRequest);
+
+        assertEquals(owner.getId(), bookingRepository.findById(result.getId()).orElseThrow().getOwnerId());
+        assertTrue(bookingService.getAllByOwner(booker.getId(), "ALL", 0, 10).isEmpty());
+    }
+
+    @Test
+    void getAllByBooker_shouldApplyOffsetNotDivisibleBySize() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            createBooking(base.plusDays(i * 2L), base.plusDays(i * 2L + 1));
+        }
+
+        List<BookingResponseDto> all = bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
+        List<BookingResponseDto> result = bookingService.getAllByBooker(booker.getId(), "ALL", 3, 2);
+
+        assertEquals(2, result.size());
+        assertEquals(all.get(3).getId(), result.get(0).getId());
+        assertEquals(all.get(4).getId(), result.get(1).getId());
+    }
+
+    @Test
+    void getAllByBookerAfter_shouldWalkAllPagesWithoutGapsOrDuplicates() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            createBooking(base.plusDays(i), base.plusDays(i).plusHours(1));
+        }
+        createBooking(base.plusDays(2), base.plusDays(2).plusHours(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingResponseDto> all = bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
+        List<BookingResponseDto> walked = new ArrayList<>(
+                bookingService.getAllByBooker(booker.getId(), "ALL", 0, 4));
+        BookingResponseDto last = walked.get(walked.size() - 1);
+        String after = new KeysetCursor(last.getStart(), last.getId()).encode();
+        walked.addAll(bookingService.getAllByBookerAfter(booker.getId(), "ALL", after, 4));
+
+        assertEquals(6, walked.size());
+        assertEquals(all.stream().map(BookingResponseDto::getId).toList(),
+                walked.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    @Test
+    void getAllByOwnerAfter_shouldReturnBookingsOlderThanCursor() {
+        Booking older = createBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        createBooking(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+        entityManager.flush();
+        entityManager.clear();
+        BookingResponseDto newer = bookingService.getAllByOwner(owner.getId(), "FUTURE", 0, 1).get(0);
+        String after = new KeysetCursor(newer.getStart(), newer.getId()).encode();
+
+        List<BookingResponseDto> result = bookingService.getAllByOwnerAfter(owner.getId(), "FUTURE", after, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(older.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void getAllByBookerAfter_shouldRejectInvalidCursor() {
+        Long bookerId = booker.getId();
+        assertThrows(BadRequestException.class, () ->
+                bookingService.getAllByBookerAfter(bookerId, "ALL", "broken", 10));
+    }
+
+    @Test
+    void getAllByBookerAndOwner_shouldLoadItemsAndBookersInOneStatement() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            Item otherItem = new Item();
+            otherItem.setName("Item " + i);
+            otherItem.setDescription("Description " + i);
+            otherItem.setAvailable(true);
+            otherItem.setOwner(owner);
+            item = itemRepository.save(otherItem);
+            createBooking(base.plusDays(i), base.plusDays(i).plusHours(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<BookingResponseDto> byBooker = bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
+        long bookerStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        List<BookingResponseDto> byOwner = bookingService.getAllByOwner(owner.getId(), "FUTURE", 0, 10);
+        long ownerStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(5, byBooker.size());
+        assertEquals(5, byOwner.size());
+        assertEquals("Booker", byBooker.get(0).getBooker().getName());
+        assertEquals("Item 4", byOwner.get(0).getItem().getName());
+        assertEquals(2, bookerStatements);
+        assertEquals(2, ownerStatements);
+    }
+
     private Booking createBooking(LocalDateTime start, LocalDateTime end) {
         Booking booking = new Booking();
         booking.setStart(start);
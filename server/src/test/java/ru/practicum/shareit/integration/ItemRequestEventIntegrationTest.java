@@ -0,0 +1,110 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemRequestEventIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User requester;
+    private User owner;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void setUp() {
+        requester = userRepository.save(new User(null, "Requester", "requester@mail.com"));
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+
+        itemRequest = new ItemRequest();
+        itemRequest.setDescription("Нужен молоток");
+        itemRequest.setRequester(requester);
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest = itemRequestRepository.save(itemRequest);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void create_shouldPushItemToRequesterStream() throws Exception {
+        MvcResult requesterStream = subscribe(requester.getId());
+        MvcResult ownerStream = subscribe(owner.getId());
+
+        ItemDto item = itemService.create(owner.getId(),
+                new ItemDto(null, "Молоток", "Простой молоток", true, itemRequest.getId()));
+
+        String events = awaitEvent(requesterStream);
+        assertTrue(events.contains("id:" + item.getId()));
+        assertTrue(events.contains("\"name\":\"Молоток\""));
+        assertTrue(events.contains("\"requestId\":" + itemRequest.getId()));
+        assertEquals("", ownerStream.getResponse().getContentAsString());
+    }
+
+    @Test
+    void subscribe_shouldReturnNotFoundForUnknownUser() throws Exception {
+        mockMvc.perform(get("/requests/events")
+                        .header("X-Sharer-User-Id", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    private MvcResult subscribe(Long userId) throws Exception {
+        return mockMvc.perform(get("/requests/events")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitEvent(MvcResult stream) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = "";
+        while (!content.contains("event:item") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(content.contains("event:item"), "No item event in: " + content);
+        return content;
+    }
+}
@@ -6,9 +6,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -17,6 +19,9 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -88,7 +93,7 @@ class ItemRequestServiceIntegrationTest {
         requestDto.setDescription("Нужна дрель");
         itemRequestService.create(requester.getId(), requestDto);
 
-        List<ItemRequestDto> result = itemRequestService.getOwnRequests(requester.getId());
+        List<ItemRequestDto> result = itemRequestService.getOwnRequests(requester.getId(), 0, 10, false);
 
         assertEquals(1, result.size());
         assertEquals("Нужна дрель", result.get(0).getDescription());
@@ -96,11 +101,43 @@ class ItemRequestServiceIntegrationTest {
 
     @Test
     void getOwnRequests_shouldReturnEmptyList() {
-        List<ItemRequestDto> result = itemRequestService.getOwnRequests(requester.getId());
+        List<ItemRequestDto> result = itemRequestService.getOwnRequests(requester.getId(), 0, 10, false);
 
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getOwnRequests_shouldPageNewestFirstWithItemsOrCounts() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(saveRequest(requester, "Запрос " + i, now.minusHours(i)));
+        }
+        saveItem("Дрель", requests.get(1));
+        saveItem("Перфоратор", requests.get(1));
+        saveItem("Пила", requests.get(2));
+
+        List<ItemRequestDto> withItems = itemRequestService.getOwnRequests(requester.getId(), 1, 2, false);
+        List<ItemRequestDto> withCounts = itemRequestService.getOwnRequests(requester.getId(), 1, 2, true);
+
+        assertEquals(List.of("Запрос 1", "Запрос 2"), withItems.stream().map(ItemRequestDto::getDescription).toList());
+        assertEquals(2, withItems.get(0).getItems().size());
+        assertEquals(2, withItems.get(0).getItemCount());
+        assertEquals(withItems.stream().map(ItemRequestDto::getId).toList(),
+                withCounts.stream().map(ItemRequestDto::getId).toList());
+        assertNull(withCounts.get(0).getItems());
+        assertEquals(List.of(2, 1), withCounts.stream().map(ItemRequestDto::getItemCount).toList());
+        assertEquals(0, itemRequestService.getOwnRequests(requester.getId(), 4, 2, true).get(0).getItemCount());
+    }
+
+    @Test
+    void getOwnRequests_shouldRejectInvalidPage() {
+        Long userId = requester.getId();
+
+        assertThrows(BadRequestException.class, () -> itemRequestService.getOwnRequests(userId, -1, 10, false));
+        assertThrows(BadRequestException.class, () -> itemRequestService.getOwnRequests(userId, 0, 101, true));
+    }
+
     @Test
     void getOtherUsersRequests_shouldReturnOtherUsersRequests() {
         ItemRequestRequestDto requestDto = new ItemRequestRequestDto();
@@ -124,6 +161,42 @@ class ItemRequestServiceIntegrationTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getOtherUsersRequestsAfter_shouldKeepPagesStableUnderNewRequests() {
+        // the entities stay managed, so keep only the precision the column stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 7; i++) {
+            // pairs share a timestamp so the id breaks ties across page boundaries
+            saveRequest(requester, "Запрос " + i, now.minusHours(i / 2));
+        }
+        saveRequest(owner, "Свой запрос", now.minusMinutes(30));
+
+        List<ItemRequestDto> first = itemRequestService.getOtherUsersRequests(owner.getId(), 0, 3);
+        saveRequest(requester, "Новый запрос", now.plusMinutes(1));
+        List<Long> seen = new ArrayList<>(first.stream().map(ItemRequestDto::getId).toList());
+        List<ItemRequestDto> page = first;
+        while (page.size() == 3) {
+            ItemRequestDto last = page.get(page.size() - 1);
+            page = itemRequestService.getOtherUsersRequestsAfter(owner.getId(),
+                    new KeysetCursor(last.getCreated(), last.getId()).encode(), 3);
+            page.forEach(request -> seen.add(request.getId()));
+        }
+
+        assertEquals(7, seen.size());
+        assertEquals(7, seen.stream().distinct().count());
+        List<ItemRequestDto> all = itemRequestService.getOtherUsersRequests(owner.getId(), 0, 100);
+        assertEquals("Новый запрос", all.get(0).getDescription());
+        assertEquals(seen, all.subList(1, all.size()).stream().map(ItemRequestDto::getId).toList());
+    }
+
+    @Test
+    void getOtherUsersRequestsAfter_shouldRejectInvalidCursor() {
+        Long userId = owner.getId();
+
+        assertThrows(BadRequestException.class, () -> itemRequestService.getOtherUsersRequestsAfter(userId, "bad", 10));
+        assertThrows(BadRequestException.class, () -> itemRequestService.getOtherUsersRequests(userId, -1, 10));
+    }
+
     @Test
     void getById_shouldReturnRequest() {
         ItemRequestRequestDto requestDto = new ItemRequestRequestDto();
@@ -167,4 +240,22 @@ class ItemRequestServiceIntegrationTest {
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getById(requester.getId(), nonExistentRequestId));
     }
-}
\ No newline at end of file
+
+    private ItemRequest saveRequest(User author, String description, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setDescription(description);
+        request.setRequester(author);
+        request.setCreated(created);
+        return itemRequestRepository.save(request);
+    }
+
+    private void saveItem(String name, ItemRequest request) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        itemRepository.save(item);
+    }
+}
@@ -1,5 +1,9 @@
 package ru.practicum.shareit.integration;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,24 +11,35 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemNameSuggester;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,9 +52,21 @@ class ItemServiceIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private BookingService bookingService;
+
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemNameSuggester itemNameSuggester;
+
+    @Autowired
+    private ItemSearchCache itemSearchCache;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -52,6 +79,12 @@ class ItemServiceIntegrationTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User owner;
     private User booker;
     private Item item;
@@ -80,6 +113,9 @@ class ItemServiceIntegrationTest {
         item.setAvailable(true);
         item.setOwner(owner);
         item = itemRepository.save(item);
+        itemSearchIndex.rebuild();
+        itemSearchCache.clear();
+        itemNameSuggester.rebuild();
     }
 
     @Test
@@ -97,6 +133,30 @@ class ItemServiceIntegrationTest {
         assertTrue(result.getAvailable());
     }
 
+    @Test
+    void createAll_shouldInsertItemsInJdbcBatches() {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            itemDtos.add(new ItemDto(null, "Item " + i, "Description " + i, true, null));
+        }
+        long itemsBefore = itemRepository.count();
+
+        long statements = countStatements(() -> {
+            itemService.createAll(owner.getId(), itemDtos);
+            entityManager.flush();
+        });
+
+        assertEquals(itemsBefore + 120, itemRepository.count());
+        assertTrue(statements <= 10, "Expected batched inserts but got " + statements + " statements");
+    }
+
+    @Test
+    void createAll_shouldRejectUnknownRequest() {
+        List<ItemDto> itemDtos = List.of(new ItemDto(null, "Молоток", "Простой молоток", true, 999L));
+
+        assertThrows(NotFoundException.class, () -> itemService.createAll(owner.getId(), itemDtos));
+    }
+
     @Test
     void create_shouldCreateItemWithRequest() {
         ItemRequest itemRequest = new ItemRequest();
@@ -162,6 +222,156 @@ class ItemServiceIntegrationTest {
         assertEquals("Дрель", result.getName());
     }
 
+    @Test
+    void getById_shouldLoadBookingsAndCommentsInTwoStatements() {
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(item, now.minusDays(10), now.minusDays(9));
+        Booking last = createBooking(item, now.minusDays(5), now.minusDays(4));
+        Booking next = createBooking(item, now.plusDays(1), now.plusDays(2));
+        createBooking(item, now.plusDays(5), now.plusDays(6));
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setText("Отзыв " + i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setCreated(now.minusHours(i));
+            commentRepository.save(comment);
+        }
+
+        ItemWithBookingsDto[] result = new ItemWithBookingsDto[1];
+        long statements = countStatements(() -> result[0] = itemService.getById(owner.getId(), item.getId()));
+
+        assertEquals(2, statements);
+        assertEquals(last.getId(), result[0].getLastBooking().getId());
+        assertEquals(next.getId(), result[0].getNextBooking().getId());
+        assertEquals(booker.getId(), result[0].getNextBooking().getBookerId());
+        assertEquals(List.of("Отзыв 0", "Отзыв 1", "Отзыв 2"),
+                result[0].getComments().stream().map(CommentDto::getText).toList());
+        assertEquals("Booker", result[0].getComments().get(0).getAuthorName());
+    }
+
+    @Test
+    void getById_shouldEmbedOnlyNewestComments() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 15; i++) {
+            createComment("Отзыв " + i, now.minusHours(i));
+        }
+
+        List<CommentDto> comments = itemService.getById(booker.getId(), item.getId()).getComments();
+
+        assertEquals(10, comments.size());
+        assertEquals("Отзыв 0", comments.get(0).getText());
+        assertEquals("Отзыв 9", comments.get(9).getText());
+    }
+
+    @Test
+    void getAllByUser_shouldEmbedOnlyNewestCommentsOfEachItem() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 15; i++) {
+            createComment("Отзыв " + i, now.minusHours(i));
+        }
+
+        ItemWithBookingsDto listed = itemService.getAllByUser(owner.getId(), 0, 10).stream()
+                .filter(itemDto -> itemDto.getId().equals(item.getId()))
+                .findFirst().orElseThrow();
+
+        assertEquals(10, listed.getComments().size());
+        assertEquals("Отзыв 0", listed.getComments().get(0).getText());
+        assertEquals("Отзыв 9", listed.getComments().get(9).getText());
+    }
+
+    @Test
+    void getComments_shouldWalkAllCommentsWithCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        // pairs share a timestamp so the id breaks ties across page boundaries
+        for (int i = 0; i < 25; i++) {
+            createComment("Отзыв " + i, now.minusHours(i / 2));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        List<CommentDto> page;
+        do {
+            page = itemService.getComments(item.getId(), after, 10);
+            page.forEach(comment -> seen.add(comment.getId()));
+            CommentDto last = page.isEmpty() ? null : page.get(page.size() - 1);
+            after = last == null ? null : new KeysetCursor(last.getCreated(), last.getId()).encode();
+        } while (page.size() == 10);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().distinct().count());
+        List<CommentDto> all = itemService.getComments(item.getId(), null, 100);
+        assertEquals(seen, all.stream().map(CommentDto::getId).toList());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getCreated().isAfter(all.get(i - 1).getCreated()));
+        }
+    }
+
+    @Test
+    void commentReads_shouldProjectAuthorNamesInOneStatement() {
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User author = new User();
+            author.setName("Author " + i);
+            author.setEmail("author" + i + "@mail.com");
+            authors.add(author);
+        }
+        authors = userRepository.saveAll(authors);
+        LocalDateTime now = LocalDateTime.now();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Comment comment = new Comment();
+            comment.setText("Отзыв " + i);
+            comment.setItem(item);
+            comment.setAuthor(authors.get(i % authors.size()));
+            comment.setCreated(now.minusMinutes(i));
+            comments.add(comment);
+        }
+        commentRepository.saveAll(comments);
+        List<Long> itemIds = List.of(item.getId());
+
+        List<List<CommentDto>> loaded = new ArrayList<>();
+        assertEquals(1, countStatements(() -> loaded.add(commentRepository.findNewestDtosByItemIdIn(itemIds, 500))));
+        assertEquals(1, countStatements(() -> loaded.add(
+                commentRepository.findNewestDtosByItemId(item.getId(),
+                        KeysetCursor.FIRST.timestamp(), KeysetCursor.FIRST.id(), OffsetPageRequest.of(0, 500)))));
+
+        for (List<CommentDto> page : loaded) {
+            assertEquals(500, page.size());
+            assertTrue(page.stream().allMatch(comment -> comment.getAuthorName().startsWith("Author ")));
+            assertTrue(page.stream().allMatch(comment -> item.getId().equals(comment.getItemId())));
+        }
+        // user check, item rows, comments: the comment count never adds statements
+        assertEquals(3, countStatements(() -> itemService.getAllByUser(owner.getId(), 0, 10)));
+    }
+
+    @Test
+    void getComments_shouldRejectInvalidRequests() {
+        Long itemId = item.getId();
+
+        assertThrows(BadRequestException.class, () -> itemService.getComments(itemId, null, 0));
+        assertThrows(BadRequestException.class, () -> itemService.getComments(itemId, null, 101));
+        assertThrows(BadRequestException.class, () -> itemService.getComments(itemId, "not-a-cursor", 10));
+        assertThrows(NotFoundException.class, () -> itemService.getComments(-1L, null, 10));
+    }
+
+    @Test
+    void getById_shouldHideBookingsFromOtherUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(item, now.minusDays(5), now.minusDays(4));
+        createBooking(item, now.plusDays(1), now.plusDays(2));
+
+        ItemWithBookingsDto result = itemService.getById(booker.getId(), item.getId());
+
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+    }
+
+    @Test
+    void getById_shouldThrowWhenItemNotFound() {
+        assertThrows(NotFoundException.class, () -> itemService.getById(owner.getId(), -1L));
+    }
+
     @Test
     void getAllByUser_shouldReturnItemsWithBookingsAndComments() {
         Booking booking = new Booking();
@@ -179,7 +389,7 @@ class ItemServiceIntegrationTest {
         comment.setCreated(LocalDateTime.now());
         commentRepository.save(comment);
 
-        List<ItemWithBookingsDto> result = itemService.getAllByUser(owner.getId());
+        List<ItemWithBookingsDto> result = itemService.getAllByUser(owner.getId(), 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -191,21 +401,219 @@ class ItemServiceIntegrationTest {
         assertEquals("Отличная дрель!", itemDto.getComments().get(0).getText());
     }
 
+    @Test
+    void getAllByUser_shouldReturnNearestLastAndNextBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(item, now.minusDays(10), now.minusDays(9));
+        Booking last = createBooking(item, now.minusDays(5), now.minusDays(4));
+        Booking next = createBooking(item, now.plusDays(1), now.plusDays(2));
+        createBooking(item, now.plusDays(5), now.plusDays(6));
+
+        List<ItemWithBookingsDto> result = itemService.getAllByUser(owner.getId(), 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(last.getId(), result.get(0).getLastBooking().getId());
+        assertEquals(next.getId(), result.get(0).getNextBooking().getId());
+        assertEquals(booker.getId(), result.get(0).getNextBooking().getBookerId());
+    }
+
+    @Test
+    void getAllByUser_shouldRunConstantNumberOfStatements() {
+        createItemsWithBookings(2);
+        long statementsForFewItems = countStatements(() -> itemService.getAllByUser(owner.getId(), 0, 10));
+
+        createItemsWithBookings(20);
+        long statementsForManyItems = countStatements(() -> itemService.getAllByUser(owner.getId(), 0, 10));
+
+        assertTrue(statementsForFewItems > 0);
+        assertEquals(statementsForFewItems, statementsForManyItems);
+    }
+
+    @Test
+    void getAllByUser_shouldReturnRequestedPage() {
+        createItemsWithBookings(4);
+
+        List<ItemWithBookingsDto> result = itemService.getAllByUser(owner.getId(), 1, 2);
+
+        assertEquals(List.of("Item 0", "Item 1"), result.stream().map(ItemWithBookingsDto::getName).toList());
+        assertNotNull(result.get(0).getLastBooking());
+        assertNotNull(result.get(0).getNextBooking());
+        assertThrows(BadRequestException.class, () -> itemService.getAllByUser(owner.getId(), -1, 10));
+        assertThrows(BadRequestException.class, () -> itemService.getAllByUser(owner.getId(), 0, 1001));
+    }
+
+    @Test
+    void streamAllByUser_shouldPassEveryItemWithComments() {
+        // more than one chunk of the stream
+        createItemsWithBookings(520);
+        Item last = itemRepository.findByOwnerIdOrderById(owner.getId()).get(520);
+        Comment comment = new Comment();
+        comment.setText("Отличная вещь");
+        comment.setItem(last);
+        comment.setAuthor(booker);
+        comment.setCreated(LocalDateTime.now());
+        commentRepository.save(comment);
+
+        List<ItemWithBookingsDto> streamed = new ArrayList<>();
+        itemService.streamAllByUser(owner.getId(), streamed::add);
+
+        assertEquals(521, streamed.size());
+        assertEquals(item.getId(), streamed.get(0).getId());
+        assertEquals(last.getId(), streamed.get(streamed.size() - 1).getId());
+        assertEquals("Отличная вещь", streamed.get(streamed.size() - 1).getComments().get(0).getText());
+        assertNotNull(streamed.get(streamed.size() - 1).getNextBooking());
+        assertTrue(streamed.get(1).getComments().isEmpty());
+    }
+
+    @Test
+    void streamAllByUser_shouldThrowForUnknownUser() {
+        List<ItemWithBookingsDto> streamed = new ArrayList<>();
+
+        assertThrows(NotFoundException.class, () -> itemService.streamAllByUser(-1L, streamed::add));
+        assertTrue(streamed.isEmpty());
+    }
+
     @Test
     void search_shouldReturnAvailableItems() {
-        List<ItemDto> result = itemService.search("дрель");
+        List<ItemDto> result = itemService.search("дрель", 0, 10).getItems();
 
         assertEquals(1, result.size());
         assertEquals("Дрель", result.get(0).getName());
     }
 
+    @Test
+    void search_shouldMatchSubstringsWithoutQueryingDatabase() {
+        itemService.create(owner.getId(), new ItemDto(null, "Аккумуляторная дрель", "С двумя батареями", true, null));
+
+        long statements = countStatements(() -> {
+            List<ItemDto> result = itemService.search("ДРЕЛЬ", 0, 10).getItems();
+            assertEquals(List.of("Дрель", "Аккумуляторная дрель"), result.stream().map(ItemDto::getName).toList());
+            assertEquals(1, itemService.search("кумулятор", 0, 10).getItems().size());
+            assertEquals(1, itemService.search("батаре", 0, 10).getItems().size());
+        });
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void search_shouldFollowItemUpdates() {
+        assertEquals(List.of("Дрель"), itemService.search("дрель", 0, 10).getItems().stream().map(ItemDto::getName).toList());
+        assertTrue(itemService.search("перфор", 0, 10).getItems().isEmpty());
+
+        ItemDto rename = new ItemDto();
+        rename.setName("Перфоратор");
+        itemService.update(owner.getId(), item.getId(), rename);
+
+        assertEquals(List.of("Перфоратор"), itemService.search("дрель", 0, 10).getItems().stream().map(ItemDto::getName).toList());
+        assertEquals(1, itemService.search("перфор", 0, 10).getItems().size());
+
+        ItemDto hide = new ItemDto();
+        hide.setAvailable(false);
+        itemService.update(owner.getId(), item.getId(), hide);
+
+        assertTrue(itemService.search("перфор", 0, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void searchAvailableItems_shouldMatchLikeTheIndexBeforeItIsReady() {
+        itemService.create(owner.getId(), new ItemDto(null, "Сверло 10_мм", "Победитовое, 100% твёрдость", true, null));
+        itemService.create(owner.getId(), new ItemDto(null, "Сверло 10-мм", "По дереву", true, null));
+
+        for (String text : List.of("ДРЕЛЬ", "сверло", "10_", "100%", "_мм", "рел")) {
+            List<Long> indexed = itemService.search(text, 0, 10).getItems().stream().map(ItemDto::getId).sorted().toList();
+            List<Long> scanned = itemRepository.searchAvailableItems(text, OffsetPageRequest.of(0, 10)).stream()
+                    .map(Item::getId).toList();
+            assertEquals(indexed, scanned, text);
+        }
+    }
+
+    @Test
+    void search_shouldRejectPagesOutsideSearchWindow() {
+        assertThrows(BadRequestException.class, () -> itemService.search("дрель", -1, 10));
+        assertThrows(BadRequestException.class, () -> itemService.search("дрель", 0, 101));
+        assertThrows(BadRequestException.class, () -> itemService.search("дрель", 995, 10));
+    }
+
+    @Test
+    void search_shouldRejectTextShorterThanTrigram() {
+        assertThrows(BadRequestException.class, () -> itemService.search("др", 0, 10));
+        assertEquals(1, itemService.search("дре", 0, 10).getItems().size());
+    }
+
+    @Test
+    void suggest_shouldCompleteNamesOfAvailableItemsAsTheyChange() {
+        ItemDto created = itemService.create(owner.getId(),
+                new ItemDto(null, "Аккумуляторная дрель", "С двумя батареями", true, null));
+
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель"), itemService.suggest("др", 10));
+
+        ItemDto hide = new ItemDto();
+        hide.setAvailable(false);
+        itemService.update(owner.getId(), created.getId(), hide);
+
+        assertEquals(List.of("Дрель"), itemService.suggest("др", 10));
+        assertTrue(itemService.suggest(" ", 10).isEmpty());
+        assertThrows(BadRequestException.class, () -> itemService.suggest("др", 21));
+    }
+
     @Test
     void search_shouldReturnEmptyListForBlankText() {
-        List<ItemDto> result = itemService.search("");
+        List<ItemDto> result = itemService.search("", 0, 10).getItems();
 
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAvailability_shouldReturnGapsBetweenWaitingAndApprovedBookings() {
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        createBooking(item, base.plusDays(1), base.plusDays(2));
+        createBooking(item, base.plusDays(4), base.plusDays(5)).setStatus(BookingStatus.REJECTED);
+        createBooking(item, base.plusDays(6), base.plusDays(7)).setStatus(BookingStatus.WAITING);
+        createBooking(item, base.plusDays(12), base.plusDays(13));
+        entityManager.flush();
+
+        List<AvailabilityIntervalDto> result = itemService.getAvailability(item.getId(), base, base.plusDays(10));
+
+        assertEquals(List.of(
+                new AvailabilityIntervalDto(base, base.plusDays(1)),
+                new AvailabilityIntervalDto(base.plusDays(2), base.plusDays(6)),
+                new AvailabilityIntervalDto(base.plusDays(7), base.plusDays(10))), result);
+    }
+
+    @Test
+    void getAvailability_shouldServeRepeatedCallsFromCacheUntilBookingIsCreated() {
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        Long itemId = item.getId();
+        itemService.getAvailability(itemId, base, base.plusDays(3));
+
+        long statements = countStatements(() -> itemService.getAvailability(itemId, base.plusDays(1), base.plusDays(5)));
+        bookingService.create(booker.getId(), new BookingRequestDto(itemId, base.plusDays(1), base.plusDays(2)));
+
+        assertEquals(0, statements);
+        assertEquals(List.of(
+                new AvailabilityIntervalDto(base, base.plusDays(1)),
+                new AvailabilityIntervalDto(base.plusDays(2), base.plusDays(3))),
+                itemService.getAvailability(itemId, base, base.plusDays(3)));
+    }
+
+    @Test
+    void getAvailability_shouldReturnNothingForUnavailableItem() {
+        item.setAvailable(false);
+        itemRepository.save(item);
+
+        assertTrue(itemService.getAvailability(item.getId(), null, null).isEmpty());
+    }
+
+    @Test
+    void getAvailability_shouldRejectInvalidWindow() {
+        LocalDateTime from = LocalDateTime.now().plusDays(2);
+        Long itemId = item.getId();
+
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(itemId, from, from.minusDays(1)));
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(itemId, from, from.plusYears(2)));
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(-1L, null, null));
+    }
+
     @Test
     void addComment_shouldAddCommentWhenUserHasPastBooking() {
         Booking pastBooking = new Booking();
@@ -225,8 +633,13 @@ class ItemServiceIntegrationTest {
         assertEquals("Отличный инструмент!", result.getText());
         assertEquals("Booker", result.getAuthorName());
 
-        List<Comment> comments = commentRepository.findByItemId(item.getId());
-        assertEquals(1, comments.size());
+        assertEquals(1, commentRepository.count());
+
+        entityManager.flush();
+        entityManager.clear();
+        ItemWithBookingsDto itemDto = itemService.getById(owner.getId(), item.getId());
+        assertEquals(1, itemDto.getCommentsCount());
+        assertEquals(itemDto.getComments().get(0).getCreated(), itemDto.getLastCommentedAt());
     }
 
     @Test
@@ -239,4 +652,46 @@ class ItemServiceIntegrationTest {
         assertThrows(BadRequestException.class, () ->
                 itemService.addComment(bookerId, itemId, commentRequest));
     }
-}
\ No newline at end of file
+
+    private Comment createComment(String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setCreated(created);
+        return commentRepository.save(comment);
+    }
+
+    private Booking createBooking(Item bookedItem, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        return bookingRepository.save(booking);
+    }
+
+    private void createItemsWithBookings(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item newItem = new Item();
+            newItem.setName("Item " + i);
+            newItem.setDescription("Description " + i);
+            newItem.setAvailable(true);
+            newItem.setOwner(owner);
+            newItem = itemRepository.save(newItem);
+            createBooking(newItem, now.minusDays(2), now.minusDays(1));
+            createBooking(newItem, now.plusDays(1), now.plusDays(2));
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
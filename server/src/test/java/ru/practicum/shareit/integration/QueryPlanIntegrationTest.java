@@ -0,0 +1,223 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the read paths against a seeded Postgres with auto_explain logging every executed plan and fails
+ * if any of them falls back to a sequential scan, or if a cursor page deep into a listing reads more than
+ * a page worth of rows. The full user listing is left out on purpose: scanning the whole table is the
+ * expected plan there; item search is answered from memory.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIntegrationTest {
+    private static final long USER_ID = 1L;
+    private static final long DEEP_ITEM_ID = 50_000L;
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+    private static final int DEEP_ROWS = 20_000;
+    private static final Pattern ACTUAL_ROWS = Pattern.compile("actual time=\\S+ rows=(\\d+)");
+    private static final Pattern REMOVED_ROWS = Pattern.compile("Rows Removed by Filter: (\\d+)");
+
+    private static boolean seeded;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1")
+            .withCommand("postgres",
+                    "-c", "shared_preload_libraries=auto_explain",
+                    "-c", "auto_explain.log_min_duration=0",
+                    "-c", "auto_explain.log_analyze=on");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> "false");
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void readQueries_shouldNotPlanSequentialScans() {
+        seedOnce();
+        Long itemId = jdbcTemplate.queryForObject(
+                "SELECT id FROM items WHERE owner_id = ? LIMIT 1", Long.class, USER_ID);
+        Long bookingId = jdbcTemplate.queryForObject(
+                "SELECT id FROM bookings WHERE booker_id = ? LIMIT 1", Long.class, USER_ID);
+        Long requestId = jdbcTemplate.queryForObject(
+                "SELECT id FROM requests WHERE requester_id = ? LIMIT 1", Long.class, USER_ID);
+
+        int logOffset = POSTGRES.getLogs().length();
+
+        for (String state : STATES) {
+            bookingService.getAllByBooker(USER_ID, state, 0, 10);
+            bookingService.getAllByOwner(USER_ID, state, 0, 10);
+        }
+        List<BookingResponseDto> booked = bookingService.getAllByBooker(USER_ID, "ALL", 0, 5);
+        BookingResponseDto last = booked.get(booked.size() - 1);
+        String after = new KeysetCursor(last.getStart(), last.getId()).encode();
+        bookingService.getAllByBookerAfter(USER_ID, "ALL", after, 5);
+        bookingService.getAllByOwnerAfter(USER_ID, "ALL", after, 5);
+        bookingService.getById(USER_ID, bookingId);
+
+        itemService.getById(USER_ID, itemId);
+        itemService.getAllByUser(USER_ID, 0, 10);
+        itemService.getComments(itemId, null, 10);
+
+        itemRequestService.getOwnRequests(USER_ID, 0, 10, false);
+        itemRequestService.getOwnRequests(USER_ID, 0, 10, true);
+        List<ItemRequestDto> requests = itemRequestService.getOtherUsersRequests(USER_ID, 0, 5);
+        ItemRequestDto lastRequest = requests.get(requests.size() - 1);
+        itemRequestService.getOtherUsersRequestsAfter(USER_ID,
+                new KeysetCursor(lastRequest.getCreated(), lastRequest.getId()).encode(), 5);
+        itemRequestService.getById(USER_ID, requestId);
+
+        userService.getById(USER_ID);
+
+        List<String> seqScans = seqScanPlans(POSTGRES.getLogs().substring(logOffset));
+        assertTrue(seqScans.isEmpty(), "Sequential scans planned:\n" + String.join("\n\n", seqScans));
+    }
+
+    @Test
+    void cursorPages_shouldReadOnlyAboutOnePage() {
+        seedOnce();
+        int size = 10;
+
+        KeysetCursor booked = cursorAt("SELECT start_date, id FROM bookings WHERE booker_id = ? " +
+                "ORDER BY start_date DESC, id DESC OFFSET " + DEEP_ROWS / 2 + " LIMIT 1");
+        assertReadsAtMost(2 * size,
+                () -> bookingService.getAllByBookerAfter(USER_ID, "ALL", booked.encode(), size));
+        KeysetCursor owned = cursorAt("SELECT start_date, id FROM bookings WHERE owner_id = ? " +
+                "ORDER BY start_date DESC, id DESC OFFSET " + DEEP_ROWS / 2 + " LIMIT 1");
+        assertReadsAtMost(2 * size,
+                () -> bookingService.getAllByOwnerAfter(USER_ID, "REJECTED", owned.encode(), size));
+        KeysetCursor commented = cursorAt("SELECT created, id FROM comments WHERE item_id = ? " +
+                "ORDER BY created DESC, id DESC OFFSET " + DEEP_ROWS / 2 + " LIMIT 1", DEEP_ITEM_ID);
+        assertReadsAtMost(2 * size, () -> itemService.getComments(DEEP_ITEM_ID, commented.encode(), size));
+        KeysetCursor requested = cursorAt("SELECT created, id FROM requests WHERE requester_id <> ? " +
+                "ORDER BY created DESC, id DESC OFFSET " + DEEP_ROWS / 2 + " LIMIT 1");
+        assertReadsAtMost(2 * size,
+                () -> itemRequestService.getOtherUsersRequestsAfter(USER_ID, requested.encode(), size));
+    }
+
+    private void seedOnce() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) " +
+                "SELECT g, 'user' || g, 'user' || g || '@mail.com' FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, requester_id, created) " +
+                "SELECT g, 'request ' || g, g % 50000 + 1, now() - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, 100000) g");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "SELECT g, 'item ' || g, 'description ' || g, g % 3 <> 0, g % 50000 + 1, " +
+                "CASE WHEN g % 4 = 0 THEN g % 100000 + 1 END FROM generate_series(1, 200000) g");
+        // five non-overlapping one-day slots per item, spread from 20 days ago to 30 days ahead
+        jdbcTemplate.execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "SELECT s.start_date, s.start_date + INTERVAL '1 day', g % 200000 + 1, g % 49999 + 1, " +
+                "(g % 200000 + 1) % 50000 + 1, " +
+                "CASE g % 10 WHEN 0 THEN 'REJECTED' WHEN 1 THEN 'WAITING' ELSE 'APPROVED' END " +
+                "FROM (SELECT g, localtimestamp - INTERVAL '20 days' + (g / 200000) * INTERVAL '10 days' " +
+                "AS start_date FROM generate_series(0, 999999) g) s");
+        // a long rejected history of the first user, both as booker and on the items they own
+        jdbcTemplate.execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "SELECT localtimestamp - g * INTERVAL '1 hour', localtimestamp - g * INTERVAL '1 hour' " +
+                "+ INTERVAL '30 minutes', (g % 4 + 1) * 50000, " + USER_ID + ", " + USER_ID + ", 'REJECTED' " +
+                "FROM generate_series(1, " + DEEP_ROWS + ") g");
+        jdbcTemplate.execute("INSERT INTO comments (text, item_id, author_id, created) " +
+                "SELECT 'comment ' || g, g % 200000 + 1, g % 50000 + 1, now() - g * INTERVAL '1 second' " +
+                "FROM generate_series(1, 200000) g");
+        // and a long thread on one of their items
+        jdbcTemplate.execute("INSERT INTO comments (text, item_id, author_id, created) " +
+                "SELECT 'reply ' || g, " + DEEP_ITEM_ID + ", g % 50000 + 1, now() - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, " + DEEP_ROWS + ") g");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private KeysetCursor cursorAt(String sql) {
+        return cursorAt(sql, USER_ID);
+    }
+
+    private KeysetCursor cursorAt(String sql, long id) {
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+                new KeysetCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)), id);
+    }
+
+    private void assertReadsAtMost(int rows, Runnable page) {
+        int logOffset = POSTGRES.getLogs().length();
+        page.run();
+        for (String entry : POSTGRES.getLogs().substring(logOffset).split("duration: ")) {
+            if (!entry.contains("Query Text:")) {
+                continue;
+            }
+            int read = Math.max(max(ACTUAL_ROWS, entry), max(REMOVED_ROWS, entry));
+            assertTrue(read <= rows, "Plan node read " + read + " rows for a page:\n" + entry.strip());
+        }
+    }
+
+    private static int max(Pattern pattern, String plan) {
+        Matcher matcher = pattern.matcher(plan);
+        int max = 0;
+        while (matcher.find()) {
+            max = Math.max(max, Integer.parseInt(matcher.group(1)));
+        }
+        return max;
+    }
+
+    private static List<String> seqScanPlans(String logs) {
+        List<String> plans = new ArrayList<>();
+        for (String entry : logs.split("duration: ")) {
+            if (entry.contains("Query Text:") && entry.contains("Seq Scan on ")) {
+                plans.add(entry.strip());
+            }
+        }
+        return plans;
+    }
+}
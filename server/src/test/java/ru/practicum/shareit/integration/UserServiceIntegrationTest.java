@@ -6,12 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -137,18 +139,52 @@ class UserServiceIntegrationTest {
         user2.setEmail("user2@mail.com");
         userService.create(user2);
 
-        List<UserDto> result = userService.getAll();
+        List<UserDto> result = userService.getAll(0, 10);
 
         assertEquals(2, result.size());
     }
 
     @Test
     void getAll_shouldReturnEmptyList() {
-        List<UserDto> result = userService.getAll();
+        List<UserDto> result = userService.getAll(0, 10);
 
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAll_shouldReturnPageOrderedById() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(userService.create(new UserDto(null, "User " + i, "user" + i + "@mail.com")).getId());
+        }
+
+        List<UserDto> result = userService.getAll(1, 3);
+
+        assertEquals(ids.subList(1, 4), result.stream().map(UserDto::getId).toList());
+        assertEquals("user1@mail.com", result.get(0).getEmail());
+    }
+
+    @Test
+    void getAll_shouldRejectInvalidPage() {
+        assertThrows(BadRequestException.class, () -> userService.getAll(-1, 10));
+        assertThrows(BadRequestException.class, () -> userService.getAll(0, 0));
+        assertThrows(BadRequestException.class, () -> userService.getAll(0, 1001));
+    }
+
+    @Test
+    void streamAll_shouldVisitEveryUserInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(userService.create(new UserDto(null, "User " + i, "user" + i + "@mail.com")).getId());
+        }
+
+        List<UserDto> streamed = new ArrayList<>();
+        userService.streamAll(streamed::add);
+
+        assertEquals(ids, streamed.stream().map(UserDto::getId).toList());
+        assertEquals("User 1199", streamed.get(1199).getName());
+    }
+
     @Test
     void delete_shouldDeleteUser() {
         UserDto userDto = new UserDto();
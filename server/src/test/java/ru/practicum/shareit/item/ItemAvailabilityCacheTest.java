@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemAvailabilityCacheTest {
+    private static final ItemAvailabilityCache.Snapshot FREE = new ItemAvailabilityCache.Snapshot(true, List.of());
+
+    private final ItemAvailabilityCache cache = new ItemAvailabilityCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldServeRepeatedLoadsFromCache() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldNotKeepEntryWhenLoaderFails() {
+        assertThrows(NotFoundException.class, () -> cache.get(99L, () -> {
+            throw new NotFoundException("Item not found with ID: 99");
+        }));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldNotStoreLoadInvalidatedWhileRunning() {
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedItemsBeyondBound() {
+        for (long itemId = 1; itemId <= ItemAvailabilityCache.MAX_ENTRIES + 10; itemId++) {
+            cache.get(itemId, this::load);
+        }
+
+        assertEquals(ItemAvailabilityCache.MAX_ENTRIES, cache.size());
+        cache.get(ItemAvailabilityCache.MAX_ENTRIES + 10L, this::load);
+        cache.get(1L, this::load);
+        assertEquals(ItemAvailabilityCache.MAX_ENTRIES + 11, loads.get());
+    }
+
+    private ItemAvailabilityCache.Snapshot load() {
+        loads.incrementAndGet();
+        return FREE;
+    }
+}
@@ -9,13 +9,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -75,6 +81,18 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available").value(true));
     }
 
+    @Test
+    void createAll_shouldReturnCreatedItems() throws Exception {
+        when(itemService.createAll(anyLong(), anyList())).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
     @Test
     void update_shouldReturnUpdatedItem() throws Exception {
         when(itemService.update(anyLong(), anyLong(), any(ItemDto.class))).thenReturn(itemDto);
@@ -100,31 +118,99 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.comments").isArray());
     }
 
+    @Test
+    void getAvailability_shouldPassWindowToService() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 10, 0);
+        when(itemService.getAvailability(1L, from, to))
+                .thenReturn(List.of(new AvailabilityIntervalDto(from, to)));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-05T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T10:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-05T10:00:00"));
+
+        verify(itemService).getAvailability(1L, from, to);
+    }
+
     @Test
     void getAllByUser_shouldReturnItemsList() throws Exception {
-        when(itemService.getAllByUser(anyLong())).thenReturn(List.of(itemWithBookingsDto));
+        when(itemService.getAllByUser(1L, 20, 5)).thenReturn(List.of(itemWithBookingsDto));
 
         mockMvc.perform(get("/items")
-                        .header("X-Sharer-User-Id", 1L))
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].name").value("Дрель"));
     }
 
+    @Test
+    void streamAllByUser_shouldWriteJsonArray() throws Exception {
+        ItemWithBookingsDto second = new ItemWithBookingsDto();
+        second.setId(2L);
+        second.setName("Молоток");
+        second.setComments(List.of(commentDto));
+        doAnswer(invocation -> {
+            Consumer<ItemWithBookingsDto> consumer = invocation.getArgument(1);
+            consumer.accept(itemWithBookingsDto);
+            consumer.accept(second);
+            return null;
+        }).when(itemService).streamAllByUser(eq(1L), any());
+
+        mockMvc.perform(get("/items/stream")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].lastBooking.bookerId").value(2L))
+                .andExpect(jsonPath("$[1].comments[0].authorName").value("User"));
+    }
+
+    @Test
+    void streamAllByUser_shouldReturnNotFoundForUnknownUser() throws Exception {
+        doThrow(new NotFoundException("User not found with ID: 99"))
+                .when(itemService).streamAllByUser(eq(99L), any());
+
+        mockMvc.perform(get("/items/stream")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found with ID: 99"));
+    }
+
     @Test
     void search_shouldReturnItems() throws Exception {
-        when(itemService.search(anyString())).thenReturn(List.of(itemDto));
+        when(itemService.search("дрель", 10, 5)).thenReturn(new ItemSearchPageDto(List.of(itemDto), 11, false));
 
         mockMvc.perform(get("/items/search")
-                        .param("text", "дрель"))
+                        .param("text", "дрель")
+                        .param("from", "10")
+                        .param("size", "5"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.TOTAL_COUNT_HEADER, "11"))
+                .andExpect(header().string(ItemController.TOTAL_COUNT_EXACT_HEADER, "false"))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].name").value("Дрель"));
     }
 
+    @Test
+    void suggest_shouldReturnNames() throws Exception {
+        when(itemService.suggest("дре", 5)).thenReturn(List.of("Дрель"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Дрель"));
+    }
+
     @Test
     void search_shouldReturnEmptyListForBlankText() throws Exception {
-        when(itemService.search(anyString())).thenReturn(Collections.emptyList());
+        when(itemService.search(anyString(), anyInt(), anyInt()))
+                .thenReturn(new ItemSearchPageDto(Collections.emptyList(), 0, true));
 
         mockMvc.perform(get("/items/search")
                         .param("text", ""))
@@ -133,6 +219,29 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getComments_shouldReturnNextCursorForFullPage() throws Exception {
+        when(itemService.getComments(1L, null, 1)).thenReturn(List.of(commentDto));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(commentDto.getCreated(), commentDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].text").value("Отличная дрель!"));
+    }
+
+    @Test
+    void getComments_shouldOmitCursorForLastPage() throws Exception {
+        when(itemService.getComments(1L, "token", 10)).thenReturn(List.of(commentDto));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("after", "token"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void addComment_shouldReturnComment() throws Exception {
         CommentRequestDto commentRequest = new CommentRequestDto();
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ItemNameSuggester(itemRepository);
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of(
+                new ItemDto(1L, "Дрель ударная", "", true, null),
+                new ItemDto(2L, "Аккумуляторная дрель", "", true, null),
+                new ItemDto(3L, "Дрель ударная", "", true, null),
+                new ItemDto(4L, "Палатка", "", true, null)));
+        suggester.rebuild();
+    }
+
+    @Test
+    void suggest_shouldMatchStartOfAnyWordOnce() {
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель ударная"), suggester.suggest("ДРе", 10));
+        assertEquals(List.of("Дрель ударная"), suggester.suggest("удар", 10));
+        assertEquals(List.of("Палатка"), suggester.suggest("  пал", 10));
+        assertTrue(suggester.suggest("рель", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldStopAtLimit() {
+        assertEquals(List.of("Аккумуляторная дрель"), suggester.suggest("а", 1));
+        assertEquals(3, suggester.suggest("", 10).size());
+    }
+
+    @Test
+    void index_shouldFollowRenamesAndAvailability() {
+        suggester.index(new ItemDto(1L, "Перфоратор", "", true, null));
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель ударная"), suggester.suggest("дрель", 10));
+
+        suggester.index(new ItemDto(3L, "Дрель ударная", "", false, null));
+        assertEquals(List.of("Аккумуляторная дрель"), suggester.suggest("дрель", 10));
+        assertEquals(List.of("Перфоратор"), suggester.suggest("перф", 10));
+
+        suggester.index(new ItemDto(1L, "Перфоратор", "", false, null));
+        assertTrue(suggester.suggest("перф", 10).isEmpty());
+        assertTrue(suggester.suggest("уда", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldCheckPrefixesLongerThanStoredKey() {
+        String name = "Набор инструментов для ремонта велосипеда профессиональный";
+        String nearMiss = "Набор инструментов для ремонта велосипеда детского";
+        suggester.index(new ItemDto(5L, name, "", true, null));
+        suggester.index(new ItemDto(6L, nearMiss, "", true, null));
+
+        assertEquals(List.of(name), suggester.suggest("инструментов для ремонта велосипеда проф", 10));
+        assertEquals(List.of(nearMiss, name), suggester.suggest("инструментов для ремонта велосипеда", 10));
+
+        suggester.index(new ItemDto(5L, name, "", false, null));
+        assertTrue(suggester.suggest("инструментов для ремонта велосипеда проф", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_shouldKeepNamesIndexedWhileLoading() {
+        when(itemRepository.findAvailableForSearch()).thenAnswer(invocation -> {
+            suggester.index(new ItemDto(5L, "Палатка двухместная", "", true, null));
+            suggester.index(new ItemDto(1L, "Дрель ударная", "", false, null));
+            return List.of(
+                    new ItemDto(1L, "Дрель ударная", "", true, null),
+                    new ItemDto(4L, "Палатка", "", true, null));
+        });
+
+        suggester.rebuild();
+
+        assertEquals(List.of("Палатка", "Палатка двухместная"), suggester.suggest("пал", 10));
+        assertTrue(suggester.suggest("дрель", 10).isEmpty());
+    }
+
+    @Test
+    void index_shouldKeepOneNodePerDistinctWordKeyAndMergeOnRemoval() {
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of());
+        suggester.rebuild();
+
+        suggester.index(new ItemDto(1L, "Набор инструментов для ремонта велосипеда", "", true, null));
+        assertEquals(5, suggester.nodeCount());
+
+        suggester.index(new ItemDto(2L, "Набор отвёрток", "", true, null));
+        suggester.index(new ItemDto(3L, "Набор отвёрток", "", true, null));
+        // "набор " splits into two branches, "отвёрток" adds one leaf
+        assertEquals(8, suggester.nodeCount());
+        assertEquals(List.of("Набор инструментов для ремонта велосипеда", "Набор отвёрток"),
+                suggester.suggest("набор", 10));
+        assertEquals(List.of("Набор отвёрток"), suggester.suggest("набор о", 10));
+
+        suggester.index(new ItemDto(2L, "Набор отвёрток", "", false, null));
+        assertEquals(8, suggester.nodeCount());
+        suggester.index(new ItemDto(3L, "Набор отвёрток", "", false, null));
+        assertEquals(5, suggester.nodeCount());
+        assertEquals(List.of("Набор инструментов для ремонта велосипеда"), suggester.suggest("набор", 10));
+
+        suggester.index(new ItemDto(1L, "Набор инструментов для ремонта велосипеда", "", false, null));
+        assertEquals(0, suggester.nodeCount());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchCacheTest {
+    private static final ItemDto DRILL = new ItemDto(1L, "Дрель", "Ударная", true, null);
+    private static final ItemDto TENT = new ItemDto(2L, "Палатка", "Трёхместная", true, null);
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of(DRILL, TENT));
+        index = new ItemSearchIndex(itemRepository);
+        index.rebuild();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(index, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_shouldServeRepeatedQueriesFromCache() {
+        assertEquals(List.of(1L), ids(search("дрель")));
+        assertEquals(List.of(1L), ids(search("ДРЕЛЬ")));
+        assertEquals(List.of(1L), ids(search("Дрель")));
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, count("cache.gets", "result", "hit"));
+        assertEquals(1.0, count("cache.gets", "result", "miss"));
+    }
+
+    @Test
+    void get_shouldResolveCachedIdsToCurrentItems() {
+        search("дрель");
+        ItemDto described = new ItemDto(1L, "Дрель", "Ударная, с кейсом", true, null);
+        index.index(described);
+
+        assertEquals("Ударная, с кейсом", search("дрель").getItems().get(0).getDescription());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldEvictOnlyQueriesTheItemMatches() {
+        search("дрель");
+        search("палатк");
+
+        ItemDto renamed = new ItemDto(2L, "Шатёр", "Трёхместная", true, null);
+        index.index(renamed);
+        cache.invalidate(TENT, renamed);
+
+        assertTrue(search("палатк").getItems().isEmpty());
+        search("дрель");
+        assertEquals(3, loads.get());
+        assertEquals(1.0, count("cache.evictions", "cause", "write"));
+    }
+
+    @Test
+    void invalidate_shouldEvictQueriesANewItemStartsMatching() {
+        assertTrue(search("шатёр").getItems().isEmpty());
+
+        ItemDto created = new ItemDto(3L, "Шатёр", "Большой", true, null);
+        index.index(created);
+        cache.invalidate(null, created);
+
+        assertEquals(List.of(3L), ids(search("шатёр")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldEvictQueriesOfItemThatBecameUnavailable() {
+        search("дрель");
+
+        ItemDto hidden = new ItemDto(1L, "Дрель", "Ударная", false, null);
+        index.index(hidden);
+        cache.invalidate(DRILL, hidden);
+
+        assertTrue(search("дрель").getItems().isEmpty());
+    }
+
+    @Test
+    void get_shouldNotStorePageLoadedDuringWrite() {
+        cache.get("дрель", 0, 10, () -> {
+            cache.invalidate(null, new ItemDto(3L, "Дрель-шуруповёрт", null, true, null));
+            return index.search("дрель", 0, 10);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedPagesBeyondWeight() {
+        int pages = (int) (ItemSearchCache.MAX_WEIGHT / ItemSearchCache.ENTRY_OVERHEAD) + 10;
+        for (int i = 0; i < pages; i++) {
+            search("запрос " + i);
+        }
+
+        assertTrue(cache.weight() <= ItemSearchCache.MAX_WEIGHT);
+        assertEquals(10.0, count("cache.evictions", "cause", "size"));
+        search("запрос " + (pages - 1));
+        search("запрос 0");
+        assertEquals(pages + 1, loads.get());
+    }
+
+    private ItemSearchPageDto search(String text) {
+        return cache.get(text, 0, 10, () -> {
+            loads.incrementAndGet();
+            return index.search(text, 0, 10);
+        });
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag("cache", ItemSearchCache.NAME).tag(tag, value).counter().count();
+    }
+
+    private static List<Long> ids(ItemSearchPageDto page) {
+        return page.getItems().stream().map(ItemDto::getId).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository);
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of(
+                new ItemDto(1L, "Аккумуляторная дрель", "Две батареи в комплекте", true, null),
+                new ItemDto(2L, "Палатка", "Трёхместная, с тамбуром", true, null),
+                new ItemDto(3L, "Дрель ударная", "Без кейса", true, 7L)));
+        index.rebuild();
+    }
+
+    @Test
+    void search_shouldMatchSubstringsCaseInsensitively() {
+        assertEquals(List.of(1L, 3L), ids(index.search("ДРЕЛЬ", 0, 10).getItems()));
+        assertEquals(List.of(1L), ids(index.search("муля", 0, 10).getItems()));
+        assertEquals(List.of(2L), ids(index.search("тамбур", 0, 10).getItems()));
+        assertEquals(7L, index.search("ударн", 0, 10).getItems().get(0).getRequestId());
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of(
+                new ItemDto(1L, "Стремянка", "Подойдёт вместо палатки на даче", true, null),
+                new ItemDto(2L, "Палатка туристическая четырёхместная с тамбуром", "Лёгкая", true, null),
+                new ItemDto(3L, "Палатка", "Двухместная", true, null),
+                new ItemDto(4L, "Коврик", "Под палатку", true, null)));
+        index.rebuild();
+
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids(index.search("палатк", 0, 10).getItems()));
+        assertEquals(List.of(2L, 4L), ids(index.search("палатк", 1, 2).getItems()));
+    }
+
+    @Test
+    void search_shouldWeighRareWordsAboveCommonOnes() {
+        when(itemRepository.findAvailableForSearch()).thenReturn(List.of(
+                new ItemDto(1L, "Набор ключей", "Набор", true, null),
+                new ItemDto(2L, "Набор отвёрток", "Набор", true, null),
+                new ItemDto(3L, "Набор бит", "Набор", true, null),
+                new ItemDto(4L, "Ключ разводной", "Ключ и набор", true, null)));
+        index.rebuild();
+
+        assertEquals(4L, index.search("ключ", 0, 10).getItems().get(0).getId());
+        assertEquals(List.of(4L), ids(index.search("ключ и набор", 0, 10).getItems()));
+    }
+
+    @Test
+    void search_shouldRequireWholeQueryNotJustItsTrigrams() {
+        assertTrue(index.search("дрельбатарея", 0, 10).getItems().isEmpty());
+        assertTrue(index.search("ель дре", 0, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void search_shouldNotScanForQueriesShorterThanTrigram() {
+        ItemSearchPageDto page = index.search("ре", 0, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(0, page.getTotalHits());
+    }
+
+    @Test
+    void index_shouldReplaceAndDropItems() {
+        index.index(new ItemDto(1L, "Шуруповёрт", "Две батареи в комплекте", true, null));
+        index.index(new ItemDto(3L, "Дрель ударная", "Без кейса", false, 7L));
+        index.index(new ItemDto(4L, "Дрель-миксер", "Для строительных смесей", true, null));
+
+        assertEquals(List.of(4L), ids(index.search("дрель", 0, 10).getItems()));
+        assertEquals(List.of(1L), ids(index.search("шуруп", 0, 10).getItems()));
+    }
+
+    @Test
+    void index_shouldStayCorrectAcrossCompactions() {
+        for (int round = 0; round < 3_000; round++) {
+            index.index(new ItemDto(2L, "Палатка " + round, "Трёхместная", true, null));
+        }
+
+        assertEquals(List.of(2L), ids(index.search("палатка 2999", 0, 10).getItems()));
+        assertTrue(index.search("палатка 2998", 0, 10).getItems().isEmpty());
+        assertEquals(List.of(1L, 3L), ids(index.search("дрель", 0, 10).getItems()));
+    }
+
+    @Test
+    void search_shouldReturnRequestedPageWithExactTotal() {
+        ItemSearchPageDto page = index.search("дрель", 1, 1);
+
+        assertEquals(List.of(3L), ids(page.getItems()));
+        assertEquals(2, page.getTotalHits());
+        assertTrue(page.isExact());
+    }
+
+    @Test
+    void search_shouldRankAllCandidatesNotJustTheOldest() {
+        List<ItemDto> items = new ArrayList<>();
+        for (long id = 1; id <= 40_000; id++) {
+            items.add(new ItemDto(id, "Набор " + id, id % 2 == 0 ? "номер чётный" : "номер нечётный", true, null));
+        }
+        items.add(new ItemDto(40_001L, "Чётный набор", "чётный, чётный", true, null));
+        when(itemRepository.findAvailableForSearch()).thenReturn(items);
+        index.rebuild();
+
+        ItemSearchPageDto page = index.search(" чётный", 0, 10);
+
+        assertEquals(40_001L, page.getItems().get(0).getId());
+        assertTrue(page.isExact());
+        assertEquals(20_001, page.getTotalHits());
+    }
+
+    @Test
+    void search_shouldNotExposeStoredItems() {
+        index.search("палатка", 0, 10).getItems().get(0).setName("Изменено");
+
+        assertEquals("Палатка", index.search("палатка", 0, 10).getItems().get(0).getName());
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
@@ -23,7 +23,7 @@ class CommentDtoTest {
 
     @Test
     void shouldSerializeAndDeserialize() throws JsonProcessingException {
-        CommentDto originalDto = new CommentDto(1L, "Отличный инструмент!", "John Doe",
+        CommentDto originalDto = new CommentDto(1L, "Отличный инструмент!", 2L, "John Doe",
                 LocalDateTime.of(2023, 12, 25, 10, 0));
 
         String json = objectMapper.writeValueAsString(originalDto);
@@ -53,7 +53,7 @@ class CommentDtoTest {
     @Test
     void shouldHaveAllArgsConstructor() {
         LocalDateTime created = LocalDateTime.now();
-        CommentDto dto = new CommentDto(1L, "Отличный инструмент!", "John Doe", created);
+        CommentDto dto = new CommentDto(1L, "Отличный инструмент!", 2L, "John Doe", created);
 
         assertEquals(1L, dto.getId());
         assertEquals("Отличный инструмент!", dto.getText());
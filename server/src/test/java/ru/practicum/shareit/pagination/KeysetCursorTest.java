@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_shouldRestoreEncodedCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 600), 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_shouldProduceUrlSafeToken() {
+        String token = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 3, 4), 7L).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedToken() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("MjAzMC0wMS0wMlQwMzowNA"));
+    }
+
+    @Test
+    void offsetPageRequest_shouldKeepArbitraryOffset() {
+        OffsetPageRequest pageable = OffsetPageRequest.of(3, 2);
+
+        assertEquals(3, pageable.getOffset());
+        assertEquals(2, pageable.getPageSize());
+        assertEquals(5, pageable.next().getOffset());
+        assertEquals(1, pageable.previousOrFirst().getOffset());
+    }
+}
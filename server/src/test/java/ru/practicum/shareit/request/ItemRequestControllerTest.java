@@ -8,7 +8,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
@@ -71,7 +73,7 @@ class ItemRequestControllerTest {
 
     @Test
     void getOwnRequests_shouldReturnRequests() throws Exception {
-        when(itemRequestService.getOwnRequests(anyLong())).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getOwnRequests(1L, 0, 10, false)).thenReturn(List.of(itemRequestDto));
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L))
@@ -80,6 +82,21 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].description").value("Нужна дрель"));
     }
 
+    @Test
+    void getOwnRequests_shouldPassPageAndCountOption() throws Exception {
+        ItemRequestDto counted = new ItemRequestDto(1L, "Нужна дрель", LocalDateTime.now(), null, 3);
+        when(itemRequestService.getOwnRequests(1L, 20, 5, true)).thenReturn(List.of(counted));
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "5")
+                        .param("itemCounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemCount").value(3))
+                .andExpect(jsonPath("$[0].items").doesNotExist());
+    }
+
     @Test
     void getOtherUsersRequests_shouldReturnRequests() throws Exception {
         when(itemRequestService.getOtherUsersRequests(anyLong(), anyInt(), anyInt()))
@@ -105,6 +122,29 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void getOtherUsersRequests_shouldFollowCursorAndReturnNextOne() throws Exception {
+        when(itemRequestService.getOtherUsersRequestsAfter(2L, "token", 1)).thenReturn(List.of(itemRequestDto));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("after", "token")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemRequestController.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(itemRequestDto.getCreated(), itemRequestDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void subscribe_shouldStartEventStream() throws Exception {
+        when(itemRequestService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/requests/events")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     void getById_shouldReturnRequest() throws Exception {
         when(itemRequestService.getById(anyLong(), anyLong())).thenReturn(itemRequestDto);
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemRequestEventHubTest {
+    private static final ItemDto HAMMER = new ItemDto(5L, "Молоток", "Простой молоток", true, 3L);
+
+    private ItemRequestEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new ItemRequestEventHub();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void itemCreated_shouldSendOnlyToRequesterStreams() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter stranger = new RecordingEmitter();
+        hub.register(1L, first);
+        hub.register(1L, second);
+        hub.register(2L, stranger);
+
+        hub.itemCreated(1L, HAMMER);
+        hub.awaitSent();
+
+        assertEquals(1, first.sent.size());
+        assertTrue(first.sent.get(0).contains("event:" + ItemRequestEventHub.ITEM_EVENT));
+        assertTrue(first.sent.get(0).contains("id:5"));
+        assertEquals(first.sent, second.sent);
+        assertTrue(stranger.sent.isEmpty());
+    }
+
+    @Test
+    void itemCreated_shouldWaitForCommit() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(1L, emitter);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hub.itemCreated(1L, HAMMER);
+            hub.itemCreated(1L, HAMMER);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            hub.awaitSent();
+            assertTrue(emitter.sent.isEmpty());
+
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            hub.awaitSent();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, emitter.sent.size());
+    }
+
+    @Test
+    void register_shouldCloseOldestStreamOfUserBeyondLimit() {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i <= ItemRequestEventHub.MAX_SUBSCRIPTIONS_PER_USER; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            hub.register(1L, emitter);
+        }
+
+        assertTrue(emitters.get(0).completed);
+        assertFalse(emitters.get(1).completed);
+        assertEquals(ItemRequestEventHub.MAX_SUBSCRIPTIONS_PER_USER, hub.size());
+    }
+
+    @Test
+    void register_shouldRejectStreamsBeyondTotalLimit() {
+        for (long userId = 1; userId <= ItemRequestEventHub.MAX_SUBSCRIBERS; userId++) {
+            hub.register(userId, new RecordingEmitter());
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> hub.register(0L, new RecordingEmitter()));
+        assertThrows(ServiceUnavailableException.class, () -> hub.register(1L, new RecordingEmitter()));
+        assertEquals(ItemRequestEventHub.MAX_SUBSCRIBERS, hub.size());
+    }
+
+    @Test
+    void itemCreated_shouldDropStreamsThatFailToSend() throws Exception {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failing = true;
+        RecordingEmitter healthy = new RecordingEmitter();
+        hub.register(1L, broken);
+        hub.register(1L, healthy);
+
+        hub.itemCreated(1L, HAMMER);
+        hub.awaitSent();
+
+        assertEquals(1, hub.size());
+        assertEquals(1, healthy.sent.size());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
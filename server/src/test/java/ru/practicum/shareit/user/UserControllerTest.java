@@ -11,8 +11,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -77,7 +79,7 @@ class UserControllerTest {
 
     @Test
     void getAll_shouldReturnUsersList() throws Exception {
-        when(userService.getAll()).thenReturn(List.of(userDto));
+        when(userService.getAll(0, 10)).thenReturn(List.of(userDto));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -85,6 +87,34 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
     }
 
+    @Test
+    void getAll_shouldPassPageParameters() throws Exception {
+        when(userService.getAll(20, 5)).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void streamAll_shouldWriteJsonArray() throws Exception {
+        UserDto second = new UserDto(2L, "Jane Doe", "jane@mail.com");
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDto);
+            consumer.accept(second);
+            return null;
+        }).when(userService).streamAll(any());
+
+        mockMvc.perform(get("/users/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].email").value("jane@mail.com"));
+    }
+
     @Test
     void delete_shouldReturnOk() throws Exception {
         mockMvc.perform(delete("/users/1"))